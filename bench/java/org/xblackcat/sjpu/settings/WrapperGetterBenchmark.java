@@ -0,0 +1,120 @@
+package org.xblackcat.sjpu.settings;
+
+import javassist.ClassPool;
+import org.openjdk.jmh.annotations.*;
+import org.xblackcat.sjpu.settings.config.ISettingsWrapper;
+import org.xblackcat.sjpu.settings.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Measures getter throughput of tracked settings objects ($Wrapper classes) for different amount of reading threads.
+ * <p>
+ * The generated wrapper is compared with a hand-written copy of the former read-locked wrapper implementation.
+ *
+ * @author xBlackCat
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WrapperGetterBenchmark {
+    private BenchSettings generated;
+    private BenchSettings readLocked;
+
+    @Setup
+    public void setup() throws SettingsException {
+        final byte[] data = "port=8080\nhost=localhost\n".getBytes(StandardCharsets.UTF_8);
+        final BenchSettings loaded = Config.builder().use(() -> new ByteArrayInputStream(data)).get(BenchSettings.class, "");
+
+        final ISettingsWrapper<BenchSettings> wrapper = ClassUtils.initialize(
+                ClassUtils.getSettingsWrapperConstructor(BenchSettings.class, new ClassPool(true)),
+                loaded
+        );
+        generated = (BenchSettings) wrapper;
+        readLocked = new ReadLockedWrapper(loaded);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int generated_1() {
+        return generated.getPort();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int generated_4() {
+        return generated.getPort();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int generated_max() {
+        return generated.getPort();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int readLocked_1() {
+        return readLocked.getPort();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int readLocked_4() {
+        return readLocked.getPort();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int readLocked_max() {
+        return readLocked.getPort();
+    }
+
+    public interface BenchSettings {
+        int getPort();
+
+        String getHost();
+    }
+
+    private static final class ReadLockedWrapper implements BenchSettings {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile BenchSettings config;
+
+        private ReadLockedWrapper(BenchSettings config) {
+            this.config = config;
+        }
+
+        @Override
+        public int getPort() {
+            lock.readLock().lock();
+            try {
+                if (config == null) {
+                    throw new NotLoadedException("Optional config is not loaded");
+                }
+                return config.getPort();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public String getHost() {
+            lock.readLock().lock();
+            try {
+                if (config == null) {
+                    throw new NotLoadedException("Optional config is not loaded");
+                }
+                return config.getHost();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.MapWrapper;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves all values of a config where every value refers to a chain of other values. Compares {@linkplain Substitutor}
+ * with a copy of the former regex-based implementation.
+ *
+ * @author xBlackCat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubstitutionBenchmark {
+    private static final Pattern VAR_EXPR = Pattern.compile("\\$\\{([\\w-.]+)}");
+
+    @Param({"100", "2000"})
+    public int keys;
+
+    private IValueGetter properties;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        final Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            map.put("base." + i, "value-" + i);
+            map.put("level1." + i, "${base." + i + "}/${base." + ((i + 1) % keys) + "}");
+            map.put("level2." + i, "${level1." + i + "}:${level1." + ((i + 7) % keys) + "}");
+            map.put("level3." + i, "http://${level2." + i + "}/${level1." + i + "}?${base." + i + "}");
+        }
+        properties = new MapWrapper(map);
+        names = map.keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public int substitutor() throws SettingsException {
+        final Substitutor substitutor = new Substitutor(properties, Collections.emptyList());
+        int length = 0;
+        for (String name : names) {
+            length += substitutor.substitute(name, properties.get(name)).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int legacy() throws SettingsException {
+        int length = 0;
+        for (String name : names) {
+            length += legacySubstitute(name, properties.get(name)).length();
+        }
+        return length;
+    }
+
+    private String legacySubstitute(String propertyName, String valueStr) throws SettingsException {
+        Set<String> invalidVars = new HashSet<>();
+
+        boolean replaced;
+        do {
+            replaced = false;
+            Matcher matcher = VAR_EXPR.matcher(valueStr);
+
+            StringBuffer result = new StringBuffer();
+            while (matcher.find()) {
+                String varName = matcher.group(1);
+                if (Objects.equals(varName, propertyName)) {
+                    throw new SettingsException("Recurrent reference to a property " + propertyName);
+                }
+                if (!invalidVars.contains(varName)) {
+                    String substitution = properties.get(varName);
+                    if (substitution != null) {
+                        matcher.appendReplacement(result, Matcher.quoteReplacement(substitution));
+                        replaced = true;
+                        continue;
+                    }
+                }
+
+                invalidVars.add(varName);
+                matcher.appendReplacement(result, Matcher.quoteReplacement("${" + varName + "}"));
+            }
+            matcher.appendTail(result);
+
+            if (replaced) {
+                valueStr = result.toString();
+            }
+        } while (replaced);
+        return valueStr;
+    }
+}
@@ -0,0 +1,121 @@
+package org.xblackcat.sjpu.settings.converter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAmount;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scanning parsers with hand-written copies of the former implementations which tried formats one by one
+ * catching {@linkplain DateTimeParseException}.
+ *
+ * @author xBlackCat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemporalAmountParserBenchmark {
+    @Param({"30", "1.5", "T10M", "10M", "1DT2H", "PT15M", "P1D"})
+    public String value;
+
+    private final DurationParser durationParser = new DurationParser();
+    private final PeriodParser periodParser = new PeriodParser();
+    private final TemporalAmountParser temporalAmountParser = new TemporalAmountParser();
+
+    @Benchmark
+    public Duration duration() {
+        return durationParser.apply(value);
+    }
+
+    @Benchmark
+    public Duration durationLegacy() {
+        return legacyDuration(value);
+    }
+
+    @Benchmark
+    public Period period() {
+        return periodParser.apply(value);
+    }
+
+    @Benchmark
+    public Period periodLegacy() {
+        return legacyPeriod(value);
+    }
+
+    @Benchmark
+    public TemporalAmount temporalAmount() {
+        return temporalAmountParser.apply(value);
+    }
+
+    @Benchmark
+    public TemporalAmount temporalAmountLegacy() {
+        return legacyTemporalAmount(value);
+    }
+
+    private static Duration legacyDuration(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Duration.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        for (String candidate : new String[]{"P" + s, "PT" + s, "PT" + s + "S"}) {
+            try {
+                return Duration.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+
+    private static Period legacyPeriod(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Period.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        for (String candidate : new String[]{"P" + s, "P" + s + "D"}) {
+            try {
+                return Period.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+
+    private static TemporalAmount legacyTemporalAmount(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Period.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        try {
+            return Duration.parse(s);
+        } catch (DateTimeParseException e) {
+            // Ignore - try other formats
+        }
+        try {
+            return Period.parse("P" + s);
+        } catch (DateTimeParseException e) {
+            // Ignore - try other formats
+        }
+        for (String candidate : new String[]{"P" + s, "PT" + s, "PT" + s + "S"}) {
+            try {
+                return Duration.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+}
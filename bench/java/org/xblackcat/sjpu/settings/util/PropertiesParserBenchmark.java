@@ -0,0 +1,88 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a generated .properties file with {@linkplain LoadUtils#loadProperties} and compares it with a copy of the
+ * former {@linkplain Properties}-based implementation.
+ *
+ * @author xBlackCat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PropertiesParserBenchmark {
+    @Param({"1", "50"})
+    public int sizeMb;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("sjpu-bench-", ".properties");
+        final long size = sizeMb * 1024L * 1024L;
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long written = 0;
+            int i = 0;
+            while (written < size) {
+                final String line;
+                switch (i % 10) {
+                    case 0:
+                        line = "# Section " + i + "\n";
+                        break;
+                    case 1:
+                        line = "service." + i + ".description = Long value with a continuation \\\n    line " + i + "\n";
+                        break;
+                    case 2:
+                        line = "service." + i + ".path=C:\\\\data\\\\" + i + "\\u00e9\n";
+                        break;
+                    default:
+                        line = "service." + i + ".url=http://host-" + i + ".example.com:8080/api/v1/resource\n";
+                        break;
+                }
+                out.write(line);
+                written += line.length();
+                i++;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public IValueGetter parser() throws IOException {
+        return LoadUtils.loadProperties(() -> Files.newInputStream(file));
+    }
+
+    @Benchmark
+    public IValueGetter legacy() throws IOException {
+        final Map<String, String> shadow = new LinkedHashMap<>();
+        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+        final Properties properties = new Properties() {
+            @Override
+            public synchronized Object put(Object key, Object value) {
+                return shadow.put(Objects.toString(key, null), Objects.toString(value, null));
+            }
+        };
+        try (final InputStream in = Files.newInputStream(file)) {
+            properties.load(new InputStreamReader(new BufferedInputStream(in), StandardCharsets.UTF_8));
+        }
+        return LoadUtils.wrap(shadow);
+    }
+}
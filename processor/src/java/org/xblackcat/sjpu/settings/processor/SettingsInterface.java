@@ -0,0 +1,304 @@
+package org.xblackcat.sjpu.settings.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.*;
+
+/**
+ * Compile-time description of a settings interface: getters mapped to properties and methods excluded from generation.
+ * Mirrors the rules of <code>ClassUtils</code> in the library: default methods are skipped, methods annotated with
+ * {@code @Ignore} are implemented with stubs and the rest are getters in declaration order. Binding order is
+ * defined by the library at runtime, so generated binder maps the getters to binding indexes by method name.
+ * <p>
+ * 18.10.2026 10:20
+ *
+ * @author xBlackCat
+ */
+class SettingsInterface {
+    private static final String IGNORE_ANNOTATION = "org.xblackcat.sjpu.settings.ann.Ignore";
+    private static final String PROPERTY_NAME_ANNOTATION = "org.xblackcat.sjpu.settings.ann.PropertyName";
+    private static final String GROUP_FIELD_ANNOTATION = "org.xblackcat.sjpu.settings.ann.GroupField";
+
+    private final String packageName;
+    private final String binaryName;
+    private final String typeName;
+    private final String simpleName;
+    private final List<Property> properties;
+    private final List<Stub> ignored;
+    private final Set<TypeElement> dependencies;
+
+    private SettingsInterface(
+            String packageName,
+            String binaryName,
+            String typeName,
+            String simpleName,
+            List<Property> properties,
+            List<Stub> ignored,
+            Set<TypeElement> dependencies
+    ) {
+        this.packageName = packageName;
+        this.binaryName = binaryName;
+        this.typeName = typeName;
+        this.simpleName = simpleName;
+        this.properties = properties;
+        this.ignored = ignored;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Collects information about the interface.
+     *
+     * @return interface description or <code>null</code> if classes for the interface can't be generated at compile
+     * time. A warning is issued in the case.
+     */
+    static SettingsInterface build(ProcessingEnvironment env, TypeElement type) {
+        final Elements elements = env.getElementUtils();
+        final Types types = env.getTypeUtils();
+
+        if (!type.getTypeParameters().isEmpty()) {
+            return skip(env, type, "generic settings interfaces are not supported");
+        }
+
+        final DeclaredType declaredType = (DeclaredType) type.asType();
+        final List<Property> properties = new ArrayList<>();
+        final List<Stub> ignored = new ArrayList<>();
+        final Set<TypeElement> dependencies = new LinkedHashSet<>();
+
+        for (ExecutableElement method : getMethods(types, type, new HashSet<>(elements.getAllMembers(type)))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.DEFAULT) ||
+                    method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+
+            final ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            if (findAnnotation(method, IGNORE_ANNOTATION) != null) {
+                ignored.add(new Stub(method, methodType));
+                continue;
+            }
+
+            final String mName = method.getSimpleName().toString();
+            if (!method.getParameters().isEmpty()) {
+                return skip(env, method, "method " + mName + " has parameters - can't be processed as getter");
+            }
+            final TypeMirror returnType = methodType.getReturnType();
+            if (returnType.getKind() == TypeKind.VOID || returnType.getKind() == TypeKind.TYPEVAR) {
+                return skip(env, method, "method " + mName + " has unsupported return type " + returnType);
+            }
+
+            properties.add(new Property(mName, returnType, getPropertyName(method), isEnum(types, returnType)));
+
+            addDependency(types, dependencies, returnType);
+            final AnnotationMirror groupField = findAnnotation(method, GROUP_FIELD_ANNOTATION);
+            if (groupField != null) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : groupField.getElementValues()
+                        .entrySet()) {
+                    if (e.getValue().getValue() instanceof TypeMirror) {
+                        addDependency(types, dependencies, (TypeMirror) e.getValue().getValue());
+                    }
+                }
+            }
+        }
+
+        if (properties.isEmpty()) {
+            return skip(env, type, "no properties are defined");
+        }
+
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        return new SettingsInterface(
+                packageName,
+                elements.getBinaryName(type).toString(),
+                type.getQualifiedName().toString(),
+                type.getSimpleName().toString(),
+                properties,
+                ignored,
+                dependencies
+        );
+    }
+
+    /**
+     * Lists methods in declaration order: methods of the interface itself go first then methods of super interfaces.
+     * Elements.getAllMembers() has no defined order.
+     */
+    private static List<ExecutableElement> getMethods(Types types, TypeElement type, Set<Element> members) {
+        final Set<ExecutableElement> methods = new LinkedHashSet<>();
+        collectMethods(types, type, members, methods);
+        return new ArrayList<>(methods);
+    }
+
+    private static void collectMethods(Types types, TypeElement type, Set<Element> members, Set<ExecutableElement> methods) {
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() == ElementKind.METHOD && members.contains(e)) {
+                methods.add((ExecutableElement) e);
+            }
+        }
+        for (TypeMirror superInterface : type.getInterfaces()) {
+            collectMethods(types, (TypeElement) types.asElement(superInterface), members, methods);
+        }
+    }
+
+    private static SettingsInterface skip(ProcessingEnvironment env, Element element, String reason) {
+        env.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "Settings classes are not pre-generated (will be generated at runtime): " + reason,
+                element
+        );
+        return null;
+    }
+
+    private static void addDependency(Types types, Set<TypeElement> dependencies, TypeMirror type) {
+        final Element element = types.asElement(type);
+        if (element != null && element.getKind() == ElementKind.INTERFACE) {
+            dependencies.add((TypeElement) element);
+        }
+    }
+
+    private static boolean isEnum(Types types, TypeMirror type) {
+        final Element element = types.asElement(type);
+        return element != null && element.getKind() == ElementKind.ENUM;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return a;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a property name the same way as <code>ClassUtils.buildPropertyName()</code> does. The name is used only
+     * in <code>toString()</code> of generated class.
+     */
+    private static String getPropertyName(ExecutableElement method) {
+        final AnnotationMirror propertyName = findAnnotation(method, PROPERTY_NAME_ANNOTATION);
+        if (propertyName != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : propertyName.getElementValues()
+                    .entrySet()) {
+                final String value = String.valueOf(e.getValue().getValue());
+                if (!value.trim().isEmpty()) {
+                    return value;
+                }
+            }
+        }
+
+        final StringBuilder name = new StringBuilder();
+        boolean onHump = true;
+        for (char c : makeFieldName(method.getSimpleName().toString()).toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                if (!onHump) {
+                    name.append('.');
+                    onHump = true;
+                }
+            } else {
+                onHump = false;
+            }
+
+            name.append(Character.toLowerCase(c));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Makes a field name the same way as <code>BuilderUtils.makeFieldName()</code> does. The processor has no
+     * dependencies so the rules are copied: SettingsProcessorTest checks that the names match.
+     */
+    static String makeFieldName(String mName) {
+        final String name;
+        if (mName.startsWith("get") && mName.length() > 3 && Character.isUpperCase(mName.charAt(3))) {
+            name = mName.substring(3);
+        } else if (mName.startsWith("is") && mName.length() > 2 && Character.isUpperCase(mName.charAt(2))) {
+            name = mName.substring(2);
+        } else {
+            name = mName;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getBinaryName() {
+        return binaryName;
+    }
+
+    /**
+     * @return canonical name of the interface to be used in generated sources
+     */
+    String getTypeName() {
+        return typeName;
+    }
+
+    String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Generated classes are top-level classes with a name of nested class <code>Foo$Impl</code>, so the library finds
+     * them with <code>Class.forName(clazz.getName() + "$Impl")</code>.
+     *
+     * @param suffix class suffix: Impl, Wrapper or Binder
+     * @return qualified name of generated class
+     */
+    String getGeneratedName(String suffix) {
+        return binaryName + "$" + suffix;
+    }
+
+    String getGeneratedSimpleName(String suffix) {
+        return binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + "$" + suffix;
+    }
+
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    List<Stub> getIgnored() {
+        return ignored;
+    }
+
+    Set<TypeElement> getDependencies() {
+        return dependencies;
+    }
+
+    static final class Property {
+        final String methodName;
+        final String fieldName;
+        final String propertyName;
+        final String typeName;
+        final TypeKind kind;
+        final boolean enumType;
+
+        private Property(String methodName, TypeMirror type, String propertyName, boolean enumType) {
+            this.methodName = methodName;
+            this.fieldName = makeFieldName(methodName);
+            this.propertyName = propertyName;
+            this.typeName = type.toString();
+            this.kind = type.getKind();
+            this.enumType = enumType;
+        }
+
+        boolean isPrimitive() {
+            return kind.isPrimitive();
+        }
+
+        boolean isArray() {
+            return kind == TypeKind.ARRAY;
+        }
+    }
+
+    static final class Stub {
+        final ExecutableElement method;
+        final ExecutableType type;
+
+        private Stub(ExecutableElement method, ExecutableType type) {
+            this.method = method;
+            this.type = type;
+        }
+    }
+}
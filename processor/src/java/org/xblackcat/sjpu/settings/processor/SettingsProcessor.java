@@ -0,0 +1,109 @@
+package org.xblackcat.sjpu.settings.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which generates <code>$Impl</code>, <code>$Wrapper</code> and <code>$Binder</code> classes for
+ * settings interfaces annotated with {@code @SettingsSource} or {@code @Prefix} at compile time. Generated classes are
+ * picked up by the library with <code>Class.forName()</code> so runtime code generation with Javassist is skipped.
+ * <p>
+ * Interfaces of nested settings objects and groups are processed as well if they are compiled in the same run. If an
+ * interface can't be processed (e.g. it is generic or has getters with parameters) a warning is issued and classes
+ * will be generated at runtime as before.
+ * <p>
+ * 18.10.2026 10:05
+ *
+ * @author xBlackCat
+ */
+@SupportedAnnotationTypes({SettingsProcessor.SETTINGS_SOURCE_ANNOTATION, SettingsProcessor.PREFIX_ANNOTATION})
+public class SettingsProcessor extends AbstractProcessor {
+    static final String SETTINGS_SOURCE_ANNOTATION = "org.xblackcat.sjpu.settings.ann.SettingsSource";
+    static final String PREFIX_ANNOTATION = "org.xblackcat.sjpu.settings.ann.Prefix";
+
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Set<TypeElement> compiled = new HashSet<>();
+        for (Element e : roundEnv.getRootElements()) {
+            collectTypes(e, compiled);
+        }
+
+        final Deque<TypeElement> queue = new ArrayDeque<>();
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (e.getKind() == ElementKind.INTERFACE) {
+                    queue.add((TypeElement) e);
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final TypeElement type = queue.poll();
+            final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+            if (!processed.add(binaryName)) {
+                continue;
+            }
+
+            final SettingsInterface info = SettingsInterface.build(processingEnv, type);
+            if (info == null) {
+                continue;
+            }
+
+            generate(info, type);
+
+            for (TypeElement dependency : info.getDependencies()) {
+                if (compiled.contains(dependency)) {
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(SettingsInterface info, TypeElement type) {
+        final SourceGenerator generator = new SourceGenerator(info);
+        try {
+            write(info.getGeneratedName("Impl"), generator.buildImpl(), type);
+            write(info.getGeneratedName("Wrapper"), generator.buildWrapper(), type);
+            write(info.getGeneratedName("Binder"), generator.buildBinder(), type);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Can't generate classes for settings interface " + info.getBinaryName() + ": " + e.getMessage(),
+                    type
+            );
+        }
+    }
+
+    private void write(String className, String source, TypeElement origin) throws IOException {
+        final JavaFileObject file = processingEnv.getFiler().createSourceFile(className, origin);
+        try (Writer w = file.openWriter()) {
+            w.write(source);
+        }
+    }
+
+    private static void collectTypes(Element e, Set<TypeElement> types) {
+        if (e instanceof TypeElement) {
+            types.add((TypeElement) e);
+            for (Element enclosed : e.getEnclosedElements()) {
+                collectTypes(enclosed, types);
+            }
+        }
+    }
+}
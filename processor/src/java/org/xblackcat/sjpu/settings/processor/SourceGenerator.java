@@ -0,0 +1,295 @@
+package org.xblackcat.sjpu.settings.processor;
+
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds sources of <code>$Impl</code>, <code>$Wrapper</code> and <code>$Binder</code> classes. Generated code is
+ * equivalent to one built by <code>ClassUtils</code> at runtime.
+ * <p>
+ * 18.10.2026 10:40
+ *
+ * @author xBlackCat
+ */
+class SourceGenerator {
+    private static final String NOT_IMPLEMENTED_EXCEPTION = "org.xblackcat.sjpu.settings.NotImplementedException";
+    private static final String NOT_LOADED_EXCEPTION = "org.xblackcat.sjpu.settings.NotLoadedException";
+    private static final String SETTINGS_EXCEPTION = "org.xblackcat.sjpu.settings.SettingsException";
+    private static final String SETTINGS_WRAPPER = "org.xblackcat.sjpu.settings.config.ISettingsWrapper";
+    private static final String SETTINGS_BINDER = "org.xblackcat.sjpu.settings.config.ISettingsBinder";
+    private static final String BINDING_SOURCE = "org.xblackcat.sjpu.settings.config.IBindingSource";
+    private static final String CLASS_UTILS = "org.xblackcat.sjpu.settings.util.ClassUtils";
+
+    private final SettingsInterface info;
+
+    SourceGenerator(SettingsInterface info) {
+        this.info = info;
+    }
+
+    String buildImpl() {
+        final String className = info.getGeneratedSimpleName("Impl");
+        final StringBuilder src = header("Immutable implementation");
+        src.append("public final class ").append(className).append(" implements ").append(info.getTypeName()).append(" {\n");
+
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append("    private final ").append(p.typeName).append(" __").append(p.fieldName).append(";\n");
+        }
+        src.append("\n");
+
+        // Constructor
+        src.append("    public ").append(className).append("(");
+        int idx = 0;
+        for (SettingsInterface.Property p : info.getProperties()) {
+            if (idx > 0) {
+                src.append(", ");
+            }
+            src.append(p.typeName).append(" p").append(idx++);
+        }
+        src.append(") {\n");
+        idx = 0;
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append("        this.__").append(p.fieldName).append(" = p").append(idx);
+            if (p.isArray()) {
+                src.append(" != null ? p").append(idx).append(".clone() : null");
+            }
+            src.append(";\n");
+            idx++;
+        }
+        src.append("    }\n");
+
+        // Getters
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append("\n    @Override\n");
+            src.append("    public final ").append(p.typeName).append(" ").append(p.methodName).append("() {\n");
+            src.append("        return this.__").append(p.fieldName).append(p.isArray() ? ".clone();\n" : ";\n");
+            src.append("    }\n");
+        }
+
+        appendStubs(src);
+
+        // equals()
+        src.append("\n    @Override\n");
+        src.append("    public final boolean equals(Object o) {\n");
+        src.append("        if (this == o) return true;\n");
+        src.append("        if (o == null || getClass() != o.getClass()) return false;\n");
+        src.append("        final ").append(className).append(" that = (").append(className).append(") o;\n");
+        src.append("        return true");
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append(" &&\n                ");
+            if (p.isArray()) {
+                src.append("java.util.Arrays.equals(__").append(p.fieldName).append(", that.__").append(p.fieldName).append(")");
+            } else if (p.isPrimitive() || p.enumType) {
+                src.append("__").append(p.fieldName).append(" == that.__").append(p.fieldName);
+            } else {
+                src.append("java.util.Objects.equals(__").append(p.fieldName).append(", that.__").append(p.fieldName).append(")");
+            }
+        }
+        src.append(";\n");
+        src.append("    }\n");
+
+        // hashCode()
+        final List<String> fields = new ArrayList<>();
+        for (SettingsInterface.Property p : info.getProperties()) {
+            fields.add("__" + p.fieldName);
+        }
+        src.append("\n    @Override\n");
+        src.append("    public final int hashCode() {\n");
+        src.append("        return java.util.Objects.hash(new Object[]{").append(String.join(", ", fields)).append("});\n");
+        src.append("    }\n");
+
+        // toString()
+        src.append("\n    @Override\n");
+        src.append("    public final String toString() {\n");
+        src.append("        return \"").append(escape(info.getSimpleName())).append(" [\"");
+        idx = 0;
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append(" +\n                \"");
+            if (idx++ > 0) {
+                src.append("; ");
+            }
+            src.append(escape(p.fieldName)).append(" (").append(escape(p.propertyName)).append(") = \\\"\" + ");
+            src.append("String.valueOf(this.__").append(p.fieldName).append(") + \"\\\"\"");
+        }
+        src.append(" +\n                \"]\";\n");
+        src.append("    }\n");
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    String buildWrapper() {
+        final String className = info.getGeneratedSimpleName("Wrapper");
+        final String typeName = info.getTypeName();
+        final StringBuilder src = header("Wrapper for optional and reloadable settings");
+        src.append("public final class ").append(className).append(" implements ").append(typeName).append(", ");
+        src.append(SETTINGS_WRAPPER).append("<").append(typeName).append("> {\n");
+        src.append("    private volatile ").append(typeName).append(" __config;\n\n");
+
+        src.append("    public ").append(className).append("(").append(typeName).append(" config) {\n");
+        src.append("        this.__config = config;\n");
+        src.append("    }\n");
+
+        for (SettingsInterface.Property p : info.getProperties()) {
+            src.append("\n    @Override\n");
+            src.append("    public final ").append(p.typeName).append(" ").append(p.methodName).append("() {\n");
+            src.append("        final ").append(typeName).append(" config = this.__config;\n");
+            src.append("        if (config == null) {\n");
+            src.append("            throw new ").append(NOT_LOADED_EXCEPTION).append("(\"Optional config ");
+            src.append(escape(info.getBinaryName())).append(" is not loaded\");\n");
+            src.append("        }\n");
+            src.append("        return config.").append(p.methodName).append("();\n");
+            src.append("    }\n");
+        }
+
+        appendStubs(src);
+
+        src.append("\n    @Override\n");
+        src.append("    public final void setConfig(").append(typeName).append(" config) {\n");
+        src.append("        this.__config = config;\n");
+        src.append("    }\n");
+
+        src.append("\n    @Override\n");
+        src.append("    public final ").append(typeName).append(" getConfig() {\n");
+        src.append("        return this.__config;\n");
+        src.append("    }\n");
+
+        src.append("\n    @Override\n");
+        src.append("    public final String toString() {\n");
+        src.append("        return \"").append(escape(info.getSimpleName())).append(" wrapper of \" + String.valueOf(this.__config);\n");
+        src.append("    }\n");
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    String buildBinder() {
+        final String className = info.getGeneratedSimpleName("Binder");
+        final String typeName = info.getTypeName();
+        final StringBuilder src = header("Binder");
+        src.append("public final class ").append(className).append(" implements ").append(SETTINGS_BINDER);
+        src.append("<").append(typeName).append("> {\n");
+
+        // Order of properties in the library is defined by reflection so constructor parameters are mapped by getter names
+        final List<String> methodNames = new ArrayList<>();
+        for (SettingsInterface.Property p : info.getProperties()) {
+            methodNames.add("\"" + p.methodName + "\"");
+        }
+        src.append("    private static final int[] IDX = ").append(CLASS_UTILS).append(".getPropertyIndexes(\n");
+        src.append("            ").append(typeName).append(".class,\n");
+        src.append("            ").append(String.join(",\n            ", methodNames)).append("\n");
+        src.append("    );\n\n");
+
+        src.append("    @Override\n");
+        src.append("    @SuppressWarnings(\"unchecked\")\n");
+        src.append("    public ").append(typeName).append(" bind(").append(BINDING_SOURCE).append(" source) throws ");
+        src.append(SETTINGS_EXCEPTION).append(" {\n");
+        src.append("        return new ").append(info.getGeneratedSimpleName("Impl")).append("(");
+        int idx = 0;
+        for (SettingsInterface.Property p : info.getProperties()) {
+            if (idx > 0) {
+                src.append(",");
+            }
+            src.append("\n                ");
+            if (p.isPrimitive()) {
+                final String primitive = p.kind.name().toLowerCase(Locale.ROOT);
+                src.append("source.get").append(Character.toUpperCase(primitive.charAt(0))).append(primitive.substring(1));
+                src.append("(IDX[").append(idx).append("])");
+            } else {
+                src.append("(").append(p.typeName).append(") source.getObject(IDX[").append(idx).append("])");
+            }
+            idx++;
+        }
+        src.append("\n        );\n");
+        src.append("    }\n");
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    private StringBuilder header(String kind) {
+        final StringBuilder src = new StringBuilder();
+        if (!info.getPackageName().isEmpty()) {
+            src.append("package ").append(info.getPackageName()).append(";\n\n");
+        }
+        src.append("/**\n");
+        src.append(" * ").append(kind).append(" of {@link ").append(info.getTypeName()).append("}.\n");
+        src.append(" * Generated by sjpu-settings-processor. Do not edit.\n");
+        src.append(" */\n");
+        return src;
+    }
+
+    private void appendStubs(StringBuilder src) {
+        for (SettingsInterface.Stub stub : info.getIgnored()) {
+            final String mName = stub.method.getSimpleName().toString();
+            src.append("\n    @Override\n");
+            src.append("    public final ");
+            final List<? extends TypeParameterElement> typeParameters = stub.method.getTypeParameters();
+            if (!typeParameters.isEmpty()) {
+                final List<String> params = new ArrayList<>();
+                for (TypeParameterElement tp : typeParameters) {
+                    final List<String> bounds = new ArrayList<>();
+                    for (TypeMirror b : tp.getBounds()) {
+                        if (!"java.lang.Object".equals(b.toString())) {
+                            bounds.add(b.toString());
+                        }
+                    }
+                    params.add(tp.getSimpleName() + (bounds.isEmpty() ? "" : " extends " + String.join(" & ", bounds)));
+                }
+                src.append("<").append(String.join(", ", params)).append("> ");
+            }
+            src.append(stub.type.getReturnType()).append(" ").append(mName).append("(");
+            int idx = 0;
+            for (TypeMirror p : stub.type.getParameterTypes()) {
+                if (idx > 0) {
+                    src.append(", ");
+                }
+                src.append(p).append(" p").append(idx++);
+            }
+            src.append(")");
+            if (!stub.type.getThrownTypes().isEmpty()) {
+                final List<String> thrown = new ArrayList<>();
+                for (TypeMirror t : stub.type.getThrownTypes()) {
+                    thrown.add(t.toString());
+                }
+                src.append(" throws ").append(String.join(", ", thrown));
+            }
+            src.append(" {\n");
+            src.append("        throw new ").append(NOT_IMPLEMENTED_EXCEPTION).append("(\"Method ").append(mName);
+            src.append(" is excluded from generation\");\n");
+            src.append("    }\n");
+        }
+    }
+
+    private static String escape(String s) {
+        final StringBuilder escaped = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,241 @@
+package org.xblackcat.sjpu.settings.processor;
+
+import javassist.ClassPool;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.builder.BuilderUtils;
+import org.xblackcat.sjpu.settings.NotImplementedException;
+import org.xblackcat.sjpu.settings.NotLoadedException;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.config.IBindingSource;
+import org.xblackcat.sjpu.settings.config.ISettingsBinder;
+import org.xblackcat.sjpu.settings.config.ISettingsWrapper;
+import org.xblackcat.sjpu.settings.util.ClassUtils;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 18.10.2026 11:30
+ *
+ * @author xBlackCat
+ */
+public class SettingsProcessorTest {
+    private static final String SOURCE = "package test.gen;\n" +
+            "import org.xblackcat.sjpu.settings.ann.*;\n" +
+            "@Prefix(\"gen\")\n" +
+            "public interface Sample {\n" +
+            "    int getPort();\n" +
+            "    String getHost();\n" +
+            "    @PropertyName(\"custom.name\") long[] getAll();\n" +
+            "    Inner getInner();\n" +
+            "    @Ignore String format(String pattern) throws java.io.IOException;\n" +
+            "    default String address() { return getHost() + \":\" + getPort(); }\n" +
+            "    interface Inner {\n" +
+            "        boolean isEnabled();\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void generateClasses() throws Exception {
+        final Path root = Files.createTempDirectory("settings-processor");
+        final Path sources = Files.createDirectories(root.resolve("src/test/gen"));
+        final Path classes = Files.createDirectories(root.resolve("classes"));
+        Files.write(sources.resolve("Sample.java"), SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        compile(sources.resolve("Sample.java"), classes);
+
+        for (String name : Arrays.asList("Sample$Impl", "Sample$Wrapper", "Sample$Binder", "Sample$Inner$Impl", "Sample$Inner$Binder")) {
+            Assert.assertTrue(name + " is not generated", Files.exists(classes.resolve("test/gen/" + name + ".class")));
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            final Class<?> sample = loader.loadClass("test.gen.Sample");
+            final Class<?> inner = loader.loadClass("test.gen.Sample$Inner");
+            final ClassPool pool = new ClassPool(true) {
+                @Override
+                public ClassLoader getClassLoader() {
+                    return loader;
+                }
+            };
+
+            // Library should pick up pre-generated classes
+            final Constructor<?> constructor = ClassUtils.getSettingsConstructor(sample, pool);
+            Assert.assertSame(loader.loadClass("test.gen.Sample$Impl"), constructor.getDeclaringClass());
+
+            final ISettingsBinder<?> innerBinder = ClassUtils.getSettingsBinder(inner, pool);
+            Assert.assertSame(loader.loadClass("test.gen.Sample$Inner$Binder"), innerBinder.getClass());
+            final Object innerValue = innerBinder.bind(new ValuesSource(true));
+
+            final ISettingsBinder<?> binder = ClassUtils.getSettingsBinder(sample, pool);
+            Assert.assertSame(loader.loadClass("test.gen.Sample$Binder"), binder.getClass());
+            final Object[] values = new Object[4];
+            final List<Method> methods = ClassUtils.getPropertyMethods(sample);
+            values[methods.indexOf(sample.getMethod("getPort"))] = 8080;
+            values[methods.indexOf(sample.getMethod("getHost"))] = "localhost";
+            values[methods.indexOf(sample.getMethod("getAll"))] = new long[]{1, 2};
+            values[methods.indexOf(sample.getMethod("getInner"))] = innerValue;
+            final Object value = binder.bind(new ValuesSource(values));
+            final Object same = binder.bind(new ValuesSource(values));
+
+            Assert.assertEquals(8080, sample.getMethod("getPort").invoke(value));
+            Assert.assertEquals("localhost", sample.getMethod("getHost").invoke(value));
+            Assert.assertArrayEquals(new long[]{1, 2}, (long[]) sample.getMethod("getAll").invoke(value));
+            Assert.assertEquals("localhost:8080", sample.getMethod("address").invoke(value));
+            Assert.assertEquals(Boolean.TRUE, inner.getMethod("isEnabled").invoke(sample.getMethod("getInner").invoke(value)));
+            Assert.assertEquals(value, same);
+            Assert.assertTrue(value.toString().contains("all (custom.name) = "));
+            try {
+                sample.getMethod("format", String.class).invoke(value, "");
+                Assert.fail("Exception expected");
+            } catch (java.lang.reflect.InvocationTargetException e) {
+                Assert.assertTrue(e.getCause() instanceof NotImplementedException);
+            }
+
+            final Constructor<? extends ISettingsWrapper<?>> wrapperConstructor = ClassUtils.getSettingsWrapperConstructor(sample, pool);
+            Assert.assertSame(loader.loadClass("test.gen.Sample$Wrapper"), wrapperConstructor.getDeclaringClass());
+            @SuppressWarnings("unchecked") final ISettingsWrapper<Object> wrapper = (ISettingsWrapper<Object>) wrapperConstructor.newInstance(
+                    (Object) null);
+            try {
+                sample.getMethod("getPort").invoke(wrapper);
+                Assert.fail("Exception expected");
+            } catch (java.lang.reflect.InvocationTargetException e) {
+                Assert.assertTrue(e.getCause() instanceof NotLoadedException);
+            }
+            wrapper.setConfig(value);
+            Assert.assertSame(value, wrapper.getConfig());
+            Assert.assertEquals(8080, sample.getMethod("getPort").invoke(wrapper));
+        }
+    }
+
+    @Test
+    public void implementationWithoutBinder() throws Exception {
+        final Path root = Files.createTempDirectory("settings-processor");
+        final Path sources = Files.createDirectories(root.resolve("src/test/gen"));
+        final Path classes = Files.createDirectories(root.resolve("classes"));
+        Files.write(sources.resolve("Sample.java"), SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        compile(sources.resolve("Sample.java"), classes);
+        Files.delete(classes.resolve("test/gen/Sample$Binder.class"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            final Class<?> sample = loader.loadClass("test.gen.Sample");
+            final ClassPool pool = new ClassPool(true) {
+                @Override
+                public ClassLoader getClassLoader() {
+                    return loader;
+                }
+            };
+
+            // Constructor parameters of the pre-generated class are in source order and could not be bound by position
+            try {
+                ClassUtils.getSettingsBinder(sample, pool);
+                Assert.fail("Exception expected");
+            } catch (SettingsException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("Sample$Binder"));
+            }
+        }
+    }
+
+    @Test
+    public void fieldNamesMatchRuntime() {
+        // The processor has no dependencies so it has own copy of the field name rules
+        for (String methodName : Arrays.asList(
+                "getPort",
+                "isEnabled",
+                "getURL",
+                "getA",
+                "get",
+                "is",
+                "getter",
+                "issue",
+                "island",
+                "value",
+                "Value",
+                "get_value",
+                "is_set"
+        )) {
+            Assert.assertEquals(methodName, BuilderUtils.makeFieldName(methodName), SettingsInterface.makeFieldName(methodName));
+        }
+    }
+
+    private static void compile(Path source, Path classes) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    Arrays.asList("-d", classes.toString(), "-s", classes.toString(), "-classpath", System.getProperty("java.class.path")),
+                    null,
+                    fileManager.getJavaFileObjects(source.toFile())
+            );
+            task.setProcessors(Collections.singletonList(new SettingsProcessor()));
+            Assert.assertTrue("Compilation failed: " + diagnostics.getDiagnostics(), task.call());
+        }
+    }
+
+    private static final class ValuesSource implements IBindingSource {
+        private final Object[] values;
+
+        private ValuesSource(Object... values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean getBoolean(int idx) {
+            return (Boolean) values[idx];
+        }
+
+        @Override
+        public byte getByte(int idx) {
+            return (Byte) values[idx];
+        }
+
+        @Override
+        public char getChar(int idx) {
+            return (Character) values[idx];
+        }
+
+        @Override
+        public short getShort(int idx) {
+            return (Short) values[idx];
+        }
+
+        @Override
+        public int getInt(int idx) {
+            return (Integer) values[idx];
+        }
+
+        @Override
+        public long getLong(int idx) {
+            return (Long) values[idx];
+        }
+
+        @Override
+        public float getFloat(int idx) {
+            return (Float) values[idx];
+        }
+
+        @Override
+        public double getDouble(int idx) {
+            return (Double) values[idx];
+        }
+
+        @Override
+        public Object getObject(int idx) throws SettingsException {
+            return values[idx];
+        }
+    }
+}
@@ -6,6 +6,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.xblackcat.sjpu.settings.ann.SettingsSource;
 import org.xblackcat.sjpu.settings.config.*;
+import org.xblackcat.sjpu.settings.converter.IParser;
+import org.xblackcat.sjpu.settings.converter.IStatefulParser;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
+import org.xblackcat.sjpu.settings.util.FileLinks;
 import org.xblackcat.sjpu.settings.util.IValueGetter;
 import org.xblackcat.sjpu.settings.util.LoadUtils;
 import org.xblackcat.sjpu.settings.util.MapWrapper;
@@ -16,8 +20,11 @@ import java.io.*;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -32,9 +39,11 @@ import java.util.function.UnaryOperator;
  */
 public final class Config {
     private final static PoolHolder POOL_HOLDER = new PoolHolder();
+    private final static TrackedConfigs TRACKED_CONFIGS = new TrackedConfigs();
 
     private static final SettingsWatchingDaemon WATCHING_DAEMON;
     private static final Executor notifyExecutor;
+    private static final Executor reloadExecutor;
     private static final UnsupportedOperationException EXCEPTION;
 
     private static final IValueGetter JVM_VALUES_GETTER = new IValueGetter() {
@@ -47,6 +56,12 @@ public final class Config {
         public Set<String> keySet() {
             return System.getProperties().stringPropertyNames();
         }
+
+        @Override
+        public boolean isLive() {
+            // System properties could be changed at runtime
+            return true;
+        }
     };
     private static final IValueGetter ENV_VALUES_GETTER = LoadUtils.wrap(System.getenv());
 
@@ -73,6 +88,21 @@ public final class Config {
                 new SynchronousQueue<>(),
                 new CustomNameThreadFactory("notify-thread", "SettingsNotifier")
         );
+        final int reloadThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ThreadPoolExecutor reloadPool = new ThreadPoolExecutor(
+                reloadThreads,
+                reloadThreads,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread thread = new Thread(r, "Settings Reload");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        reloadPool.allowCoreThreadTimeOut(true);
+        reloadExecutor = reloadPool;
     }
 
     private static void postNotify(Runnable event) {
@@ -114,6 +144,27 @@ public final class Config {
         return Builder.defaultSettings().use(file);
     }
 
+    /**
+     * Builds a config reader from memory-mapped .properties file. Values are decoded only on request. The file should not
+     * be modified while the config is in use.
+     *
+     * @param file .properties file in UTF-8.
+     * @return config reader
+     */
+    public static IConfig useMapped(Path file) {
+        return Builder.defaultSettings().useMapped(file);
+    }
+
+    /**
+     * Builds a config reader from binary snapshot compiled by {@linkplain SnapshotCompiler}.
+     *
+     * @param file snapshot file.
+     * @return config reader
+     */
+    public static IConfig useSnapshot(Path file) {
+        return Builder.defaultSettings().useSnapshot(file);
+    }
+
     /**
      * Builds a config reader from .properties file specified by url.
      *
@@ -156,6 +207,10 @@ public final class Config {
         return Builder.defaultSettings().anyOf(sources);
     }
 
+    public static MultiSourceConfig anyOf(MultiSourceConfig.Mode mode, IConfig... sources) {
+        return Builder.defaultSettings().anyOf(mode, sources);
+    }
+
     /**
      * Builds a config reader from .properties file which location is specified by annotations in the given class.
      *
@@ -216,6 +271,10 @@ public final class Config {
         return builder().with(prefix, valueHandler);
     }
 
+    public static Builder with(String prefix, UnaryOperator<String> valueHandler, boolean terminal) {
+        return builder().with(prefix, valueHandler, terminal);
+    }
+
     public static Builder substitute(Map<String, String> substitution) {
         return builder().substitute(substitution);
     }
@@ -232,6 +291,61 @@ public final class Config {
         return builder().substitute(substitution);
     }
 
+    public static Builder withParser(IParser<?> parser) {
+        return builder().withParser(parser);
+    }
+
+    public static Builder resolve(ResolveMode resolveMode) {
+        return builder().resolve(resolveMode);
+    }
+
+    public static Builder loadSourcesOn(Executor executor, Duration timeout) {
+        return builder().loadSourcesOn(executor, timeout);
+    }
+
+    public static Builder cacheInstances(boolean cacheInstances) {
+        return builder().cacheInstances(cacheInstances);
+    }
+
+    public static Builder debounceReload(Duration quietPeriod, Duration maxDelay) {
+        return builder().debounceReload(quietPeriod, maxDelay);
+    }
+
+    public static Builder trackBy(IFileTracker tracker) {
+        return builder().trackBy(tracker);
+    }
+
+    public static Builder pollChanges(Duration interval) {
+        return builder().pollChanges(interval);
+    }
+
+    public static Builder reloadExecutor(Executor executor) {
+        return builder().reloadExecutor(executor);
+    }
+
+    public static Builder parallelRebind(boolean parallelRebind) {
+        return builder().parallelRebind(parallelRebind);
+    }
+
+    private static IValueGetter live(IValueGetter values) {
+        return new IValueGetter() {
+            @Override
+            public String get(String key) {
+                return values.get(key);
+            }
+
+            @Override
+            public Set<String> keySet() {
+                return values.keySet();
+            }
+
+            @Override
+            public boolean isLive() {
+                return true;
+            }
+        };
+    }
+
     private static String extractSource(Class<?> clazz) throws SettingsException {
         final SettingsSource sourceAnn = clazz.getAnnotation(SettingsSource.class);
 
@@ -261,37 +375,21 @@ public final class Config {
         }
     }
 
-    private final static class SettingsWatchingDaemon implements Runnable {
+    private final static class SettingsWatchingDaemon implements Runnable, IFileTracker {
         private static final Log log = LogFactory.getLog(SettingsWatchingDaemon.class);
 
         private final WatchService watchService = FileSystems.getDefault().newWatchService();
-        private final Map<Path, MutableConfig> trackedFiles = new WeakHashMap<>();
-        private final Map<WatchKey, List<MutableConfig>> trackers = new WeakHashMap<>();
+        private final Map<WatchKey, List<TrackedFile>> trackers = new WeakHashMap<>();
         private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
-        private IMutableConfig watch(
-                Path file,
-                Map<String, UnaryOperator<String>> prefixHandler,
-                List<SupplierEx<IValueGetter, SettingsException>> subtitution
-        ) throws IOException {
+        @Override
+        public void track(Path file, Runnable onChange) throws IOException {
             lock.writeLock().lock();
             try {
-                MutableConfig config = trackedFiles.get(file);
-                if (config != null) {
-                    return config;
-                }
-
-                MutableConfig newConfig = new MutableConfig(POOL_HOLDER.pool, prefixHandler, subtitution, file, Config::postNotify);
-                final WatchKey watchKey = file.getParent().register(
-                        watchService,
-                        StandardWatchEventKinds.ENTRY_CREATE,
-                        StandardWatchEventKinds.ENTRY_MODIFY,
-                        StandardWatchEventKinds.ENTRY_DELETE
-                );
-
-                trackers.computeIfAbsent(watchKey, k -> new ArrayList<>()).add(newConfig);
-                trackedFiles.put(file, newConfig);
-                return newConfig;
+                final TrackedFile trackedFile = new TrackedFile(file.toAbsolutePath().normalize(), onChange);
+                // Directory of the file itself should be watched in any case
+                register(trackedFile, trackedFile.file.getParent());
+                updateLinks(trackedFile);
             } finally {
                 lock.writeLock().unlock();
             }
@@ -300,6 +398,61 @@ public final class Config {
         private SettingsWatchingDaemon() throws IOException {
         }
 
+        /**
+         * Resolves symbolic links of the file and watches directories of all the followed links. Should be called under the
+         * write lock.
+         *
+         * @return <code>true</code> if the set of the links is changed
+         */
+        private boolean updateLinks(TrackedFile trackedFile) {
+            final FileLinks links = FileLinks.resolve(trackedFile.file);
+            if (links.getEntries().equals(trackedFile.entries)) {
+                return false;
+            }
+            trackedFile.entries = links.getEntries();
+
+            final Iterator<Map.Entry<Path, WatchKey>> it = trackedFile.keys.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<Path, WatchKey> e = it.next();
+                if (!links.getDirectories().contains(e.getKey())) {
+                    final List<TrackedFile> files = trackers.get(e.getValue());
+                    if (files != null) {
+                        files.remove(trackedFile);
+                        if (files.isEmpty()) {
+                            trackers.remove(e.getValue());
+                            e.getValue().cancel();
+                        }
+                    }
+                    it.remove();
+                }
+            }
+            for (Path dir: links.getDirectories()) {
+                if (!trackedFile.keys.containsKey(dir)) {
+                    try {
+                        register(trackedFile, dir);
+                    } catch (IOException e) {
+                        // Directory could be removed by a concurrent update. It will be watched on the next change
+                        if (log.isDebugEnabled()) {
+                            log.debug("Failed to watch directory " + dir + " for changes of " + trackedFile.file, e);
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void register(TrackedFile trackedFile, Path dir) throws IOException {
+            final WatchKey watchKey = dir.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE
+            );
+
+            trackers.computeIfAbsent(watchKey, k -> new ArrayList<>()).add(trackedFile);
+            trackedFile.keys.put(dir, watchKey);
+        }
+
         @Override
         public void run() {
             for (; ; ) {
@@ -321,15 +474,17 @@ public final class Config {
                     continue;
                 }
 
-                final List<MutableConfig> configs;
+                final List<TrackedFile> files;
                 lock.readLock().lock();
                 try {
-                    configs = trackers.get(key);
+                    final List<TrackedFile> tracked = trackers.get(key);
+                    files = tracked == null ? null : new ArrayList<>(tracked);
                 } finally {
                     lock.readLock().unlock();
                 }
 
-                if (configs != null) {
+                if (files != null) {
+                    final Path dir = (Path) key.watchable();
                     Set<Path> paths = new HashSet<>();
                     for (WatchEvent<?> event: key.pollEvents()) {
                         WatchEvent.Kind<?> kind = event.kind();
@@ -339,26 +494,117 @@ public final class Config {
 
                         Path filename = getContext(event);
 
-                        paths.add(filename);
+                        paths.add(dir.resolve(filename));
                     }
 
-                    for (MutableConfig c: configs) {
-                        c.checkPaths(paths);
+                    for (TrackedFile f: files) {
+                        if (isChanged(f, paths)) {
+                            f.onChange.run();
+                        }
                     }
                 }
                 key.reset();
             }
         }
 
+        private boolean isChanged(TrackedFile trackedFile, Set<Path> paths) {
+            lock.writeLock().lock();
+            try {
+                if (Collections.disjoint(trackedFile.entries, paths)) {
+                    return false;
+                }
+                // A link could be replaced: watch directories of the new links
+                updateLinks(trackedFile);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
         @SuppressWarnings("unchecked")
         private static <T> T getContext(WatchEvent<?> event) {
             return ((WatchEvent<T>) event).context();
         }
+
+        private static final class TrackedFile {
+            private final Path file;
+            private final Runnable onChange;
+            // Guarded by the daemon lock
+            private final Map<Path, WatchKey> keys = new HashMap<>();
+            private Set<Path> entries = Collections.emptySet();
+
+            private TrackedFile(Path file, Runnable onChange) {
+                this.file = file;
+                this.onChange = onChange;
+            }
+        }
+    }
+
+    /**
+     * Tracked files with their configs. A file is tracked only once: the config of an already tracked file is returned
+     * regardless of the builder settings.
+     */
+    private static final class TrackedConfigs {
+        private final Map<Path, MutableConfig> trackedFiles = new WeakHashMap<>();
+        private final ScheduledThreadPoolExecutor reloadScheduler = new ScheduledThreadPoolExecutor(
+                1, r -> {
+                    final Thread thread = new Thread(r, "Settings Reload Scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        private TrackedConfigs() {
+            reloadScheduler.setRemoveOnCancelPolicy(true);
+        }
+
+        private synchronized IMutableConfig track(
+                Path file,
+                IFileTracker tracker,
+                ConfigOptions options,
+                Duration quietPeriod,
+                Duration maxDelay,
+                Executor executor,
+                boolean parallelRebind
+        ) throws IOException {
+            MutableConfig config = trackedFiles.get(file);
+            if (config != null) {
+                return config;
+            }
+
+            MutableConfig newConfig = new MutableConfig(options, file, Config::postNotify, parallelRebind ? executor : null);
+            // Trackers and the scheduler only dispatch reloads to the executor
+            final ReloadDispatcher dispatcher = new ReloadDispatcher(newConfig::reload, executor);
+            final ReloadDebouncer debouncer = new ReloadDebouncer(dispatcher::request, quietPeriod, maxDelay, reloadScheduler);
+            tracker.track(file, debouncer::trigger);
+
+            trackedFiles.put(file, newConfig);
+            return newConfig;
+        }
     }
 
     public static class Builder {
         private final Map<String, UnaryOperator<String>> prefixHandlers = new HashMap<>();
         private final List<SupplierEx<IValueGetter, SettingsException>> substitutions = new ArrayList<>();
+        private final ParserRegistry parsers = new ParserRegistry();
+        private ResolveMode resolveMode = ResolveMode.LAZY;
+        private Executor loadExecutor;
+        private Duration loadTimeout;
+        private boolean cacheInstances = true;
+        private Duration reloadQuietPeriod = Duration.ZERO;
+        private Duration reloadMaxDelay;
+        private IFileTracker tracker;
+        private Executor reloadExecutor;
+        private boolean parallelRebind;
+
+        private ConfigOptions options() {
+            // Configs compile prefix handlers once so the handlers registered so far are captured
+            return new ConfigOptions(POOL_HOLDER.pool, new HashMap<>(prefixHandlers), substitutions)
+                    .withParsers(parsers)
+                    .withResolveMode(resolveMode)
+                    .withCacheInstances(cacheInstances)
+                    .withLoadExecutor(loadExecutor, loadTimeout);
+        }
 
         private static Builder defaultSettings() {
             Builder builder = new Builder();
@@ -369,7 +615,11 @@ public final class Config {
 
         /**
          * Register a value processor. If property value is started with prefix the prefix will be cut and remaining part will be passed to
-         * valueHandler
+         * valueHandler. If several prefixes match the value the handler of the longest one is used. Handlers are applied repeatedly
+         * while the processed value starts with a registered prefix.
+         * <p>
+         * Handlers are captured when a config is created: a handler registered after {@code use(...)} is applied only to
+         * configs created after the registration.
          *
          * @param prefix
          * @param valueHandler
@@ -380,6 +630,78 @@ public final class Config {
             return this;
         }
 
+        /**
+         * Register a value processor. See {@linkplain #with(String, UnaryOperator)} for details.
+         *
+         * @param prefix
+         * @param valueHandler
+         * @param terminal     <code>true</code> if the value produced by the handler is final and should not be processed by other
+         *                     handlers
+         * @return the config builder
+         */
+        public Builder with(String prefix, UnaryOperator<String> valueHandler, boolean terminal) {
+            if (terminal && !(valueHandler instanceof ITerminalValueHandler)) {
+                return with(prefix, (ITerminalValueHandler) valueHandler::apply);
+            }
+            return with(prefix, valueHandler);
+        }
+
+        /**
+         * Registers a pre-built parser instance. The instance will be used for all properties annotated with
+         * {@linkplain org.xblackcat.sjpu.settings.ann.ParseWith @ParseWith} with the parser class instead of creating a new one.
+         * Parsers which are not registered are instantiated once and shared. Parsers marked with {@linkplain IStatefulParser}
+         * can't be registered: they are instantiated for each property.
+         *
+         * @param parser parser instance
+         * @return the config builder
+         */
+        public Builder withParser(IParser<?> parser) {
+            parsers.register(parser);
+            return this;
+        }
+
+        /**
+         * Sets when variables are substituted and prefix handlers are applied to values. By default values are processed
+         * on bind for each property read by the interface. With {@linkplain ResolveMode#EAGER} or {@linkplain ResolveMode#PARALLEL}
+         * all the values are processed once on load: it is faster if many interfaces or groups are bound from the same
+         * source. Note that substitutions from other configs are taken at the time of loading.
+         *
+         * @param resolveMode values processing mode
+         * @return the config builder
+         */
+        public Builder resolve(ResolveMode resolveMode) {
+            if (resolveMode == null) {
+                throw new NullPointerException("Resolve mode is null");
+            }
+            this.resolveMode = resolveMode;
+            return this;
+        }
+
+        /**
+         * Sets up concurrent loading of sources for configs built by {@linkplain #anyOf(IConfig...)}. Each source is loaded in
+         * a separate task on the executor and values are combined in order of the sources. Sources which should not fail the
+         * whole config could be marked with {@linkplain MultiSourceConfig#optional(IConfig)}.
+         * <p>
+         * The timeout is counted from the start of loading of each source. With a bounded executor each source should also be
+         * started in the timeout: a source which is still in the queue of the executor is treated as not loaded in time. A
+         * source which is not loaded in time is interrupted.
+         *
+         * @param executor executor to load sources on
+         * @param timeout  max time to load each source or <code>null</code> to wait for all the sources
+         * @return the config builder
+         */
+        public Builder loadSourcesOn(Executor executor, Duration timeout) {
+            if (executor == null) {
+                throw new NullPointerException("Executor is null");
+            }
+            if (timeout != null && timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout should not be negative");
+            }
+            loadExecutor = executor;
+            loadTimeout = timeout;
+            return this;
+        }
+
         public Builder substituteEnv() {
             substitutions.add(() -> ENV_VALUES_GETTER);
             return this;
@@ -404,7 +726,13 @@ public final class Config {
             if (!(substitution instanceof AConfig)) {
                 throw new IllegalArgumentException("Unsupported config for substitution");
             }
-            substitutions.add(((AConfig) substitution)::getValueGetter);
+            final AConfig config = (AConfig) substitution;
+            if (config instanceof APermanentConfig) {
+                substitutions.add(config::getValueGetter);
+            } else {
+                // Values of a tracked file could be changed by a reload
+                substitutions.add(() -> live(config.getValueGetter()));
+            }
             return this;
         }
 
@@ -423,7 +751,7 @@ public final class Config {
         }
 
         public IConfig defaults() {
-            return new DefaultConfig(POOL_HOLDER.pool, prefixHandlers, substitutions);
+            return new DefaultConfig(options());
         }
 
         /**
@@ -440,6 +768,38 @@ public final class Config {
             return use(() -> LoadUtils.getInputStream(file));
         }
 
+        /**
+         * Builds a config reader from memory-mapped .properties file. The file is indexed on the first access and values
+         * are decoded only on request, so heap usage depends on the number of requested values rather than on the file
+         * size. The file should not be modified while the config is in use.
+         *
+         * @param file .properties file in UTF-8.
+         * @return config reader
+         */
+        public IConfig useMapped(Path file) {
+            if (file == null) {
+                throw new NullPointerException("File can't be null");
+            }
+
+            return new MappedFileConfig(options(), file);
+        }
+
+        /**
+         * Builds a config reader from binary snapshot compiled by {@linkplain SnapshotCompiler}. The snapshot is
+         * memory-mapped and used without parsing: values are decoded only on request. Snapshot of unsupported format
+         * version or with checksum mismatch is rejected on load.
+         *
+         * @param file snapshot file.
+         * @return config reader
+         */
+        public IConfig useSnapshot(Path file) {
+            if (file == null) {
+                throw new NullPointerException("File can't be null");
+            }
+
+            return new SnapshotConfig(options(), file);
+        }
+
         /**
          * Builds a config reader from .properties file specified by url.
          *
@@ -471,11 +831,11 @@ public final class Config {
          * @return config reader
          */
         public IConfig use(SupplierEx<InputStream, IOException> inputStreamSupplier) {
-            return new InputStreamConfig(POOL_HOLDER.pool, prefixHandlers, substitutions, inputStreamSupplier);
+            return new InputStreamConfig(options(), inputStreamSupplier);
         }
 
         public IConfig useEnv() {
-            return new APermanentConfig(POOL_HOLDER.pool, prefixHandlers, substitutions) {
+            return new APermanentConfig(options()) {
                 @Override
                 protected IValueGetter loadProperties() {
                     return ENV_VALUES_GETTER;
@@ -484,7 +844,7 @@ public final class Config {
         }
 
         public IConfig useJvm() {
-            return new APermanentConfig(POOL_HOLDER.pool, prefixHandlers, substitutions) {
+            return new APermanentConfig(options()) {
                 @Override
                 protected IValueGetter loadProperties() {
                     return JVM_VALUES_GETTER;
@@ -492,8 +852,109 @@ public final class Config {
             };
         }
 
+        /**
+         * Sets whether configs with permanent values return the same object for repeated requests of an interface with the same
+         * prefix. Caching is enabled by default: bound objects are immutable so they could be shared. Disable it if a new object
+         * is required for each request. An object is not cached if it is bound with values which could be changed at runtime:
+         * values of JVM system properties or variables substituted on bind from JVM system properties or from a tracked file.
+         * Variables substituted in advance (see {@linkplain #resolve(ResolveMode)}) don't prevent caching.
+         *
+         * @param cacheInstances <code>false</code> to bind a new object for each request
+         * @return the config builder
+         */
+        public Builder cacheInstances(boolean cacheInstances) {
+            this.cacheInstances = cacheInstances;
+            return this;
+        }
+
+        /**
+         * Sets up collapsing of file change events for configs built by {@linkplain #track(Path)}. A burst of events (e.g. from an
+         * editor or a deployment tool) results in a single reload when the file is not changed within the quiet period. The reload is
+         * not delayed for more than max delay after the first event of the burst even if the file is still changing. By default each
+         * event causes an immediate reload. The settings are applied when a file is tracked for the first time.
+         *
+         * @param quietPeriod time without changes to wait before the reload. Zero to reload on each change.
+         * @param maxDelay    max time between the first change and the reload or <code>null</code> for no limit
+         * @return the config builder
+         */
+        public Builder debounceReload(Duration quietPeriod, Duration maxDelay) {
+            if (quietPeriod == null) {
+                throw new NullPointerException("Quiet period is null");
+            }
+            if (quietPeriod.isNegative() || maxDelay != null && maxDelay.isNegative()) {
+                throw new IllegalArgumentException("Delays should not be negative");
+            }
+            reloadQuietPeriod = quietPeriod;
+            reloadMaxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets a strategy of detecting changes for files tracked by {@linkplain #track(Path)}. By default native file system
+         * notifications are used (see {@linkplain WatchService}).
+         *
+         * @param tracker file change detection strategy
+         * @return the config builder
+         */
+        public Builder trackBy(IFileTracker tracker) {
+            if (tracker == null) {
+                throw new NullPointerException("Tracker is null");
+            }
+            this.tracker = tracker;
+            return this;
+        }
+
+        /**
+         * Detects changes of files tracked by {@linkplain #track(Path)} by periodical checks of file attributes instead of native
+         * file system notifications. Could be used for network or overlay file systems. See {@linkplain PollingFileTracker}.
+         *
+         * @param interval interval between checks of a file
+         * @return the config builder
+         */
+        public Builder pollChanges(Duration interval) {
+            return trackBy(new PollingFileTracker(interval));
+        }
+
+        /**
+         * Sets an executor to reload files tracked by {@linkplain #track(Path)}. Reloads of a file are serialized while different
+         * files are reloaded in parallel. By default a shared pool with a thread per CPU is used.
+         *
+         * @param executor executor to reload files on
+         * @return the config builder
+         */
+        public Builder reloadExecutor(Executor executor) {
+            if (executor == null) {
+                throw new NullPointerException("Executor is null");
+            }
+            reloadExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Enables parallel binding of objects affected by a reload of a file tracked by {@linkplain #track(Path)}. Objects are
+         * bound on the reload executor. Prefix handlers and parsers should be thread-safe.
+         *
+         * @param parallelRebind <code>true</code> to bind objects in parallel
+         * @return the config builder
+         */
+        public Builder parallelRebind(boolean parallelRebind) {
+            this.parallelRebind = parallelRebind;
+            return this;
+        }
+
         public IConfig anyOf(IConfig... sources) {
-            return new MultiSourceConfig(POOL_HOLDER.pool, prefixHandlers, substitutions, sources);
+            return anyOf(MultiSourceConfig.Mode.LAYERED, sources);
+        }
+
+        /**
+         * Builds a config reader which takes values from the first source which has a value.
+         *
+         * @param mode    defines how values of the sources are combined: looked up in each source or merged on load
+         * @param sources value sources in order of priority
+         * @return config reader
+         */
+        public MultiSourceConfig anyOf(MultiSourceConfig.Mode mode, IConfig... sources) {
+            return new MultiSourceConfig(options(), mode, sources);
         }
 
         /**
@@ -553,11 +1014,24 @@ public final class Config {
             if (file == null) {
                 throw new NullPointerException("File can't be null");
             }
-            if (EXCEPTION != null) {
+            final IFileTracker fileTracker;
+            if (tracker != null) {
+                fileTracker = tracker;
+            } else if (EXCEPTION != null) {
                 throw EXCEPTION;
+            } else {
+                fileTracker = WATCHING_DAEMON;
             }
 
-            return WATCHING_DAEMON.watch(file, prefixHandlers, substitutions);
+            return TRACKED_CONFIGS.track(
+                    file,
+                    fileTracker,
+                    options(),
+                    reloadQuietPeriod,
+                    reloadMaxDelay,
+                    reloadExecutor == null ? Config.reloadExecutor : reloadExecutor,
+                    parallelRebind
+            );
         }
 
         public IMutableConfig track(File file) throws IOException, UnsupportedOperationException {
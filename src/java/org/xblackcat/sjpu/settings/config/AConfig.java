@@ -8,23 +8,19 @@ import org.apache.commons.logging.LogFactory;
 import org.xblackcat.sjpu.builder.BuilderUtils;
 import org.xblackcat.sjpu.settings.NoPropertyException;
 import org.xblackcat.sjpu.settings.SettingsException;
-import org.xblackcat.sjpu.settings.ann.*;
-import org.xblackcat.sjpu.settings.ann.Optional;
 import org.xblackcat.sjpu.settings.converter.IParser;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
 import org.xblackcat.sjpu.settings.util.ClassUtils;
 import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.LoadUtils;
 import org.xblackcat.sjpu.util.function.SupplierEx;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 25.06.2018 11:49
@@ -32,10 +28,10 @@ import java.util.stream.Collectors;
  * @author xBlackCat
  */
 public abstract class AConfig {
-    private final static Pattern VAR_EXPR = Pattern.compile("\\$\\{([\\w-.]+)}");
+    private static final int PARALLEL_RESOLVE_THRESHOLD = 4096;
 
     @SuppressWarnings("unchecked")
-    private static ArraySetter getArraySetter(Class<?> targetType) throws SettingsException {
+    static ArraySetter getArraySetter(Class<?> targetType) throws SettingsException {
         if (Object.class.isAssignableFrom(targetType)) {
             final Function<String, ?> toObjectConverter = getToObjectConverter(targetType);
             return getArraySetter(toObjectConverter);
@@ -47,6 +43,10 @@ public abstract class AConfig {
             return (o, i, valueStr) -> Array.setShort(o, i, Short.parseShort(valueStr));
         } else if (byte.class.equals(targetType)) {
             return (o, i, valueStr) -> Array.setByte(o, i, Byte.parseByte(valueStr));
+        } else if (float.class.equals(targetType)) {
+            return (o, i, valueStr) -> Array.setFloat(o, i, Float.parseFloat(valueStr));
+        } else if (double.class.equals(targetType)) {
+            return (o, i, valueStr) -> Array.setDouble(o, i, Double.parseDouble(valueStr));
         } else if (boolean.class.equals(targetType)) {
             return (o, i, valueStr) -> Array.setBoolean(o, i, BooleanUtils.toBoolean(valueStr));
         } else if (char.class.equals(targetType)) {
@@ -56,12 +56,12 @@ public abstract class AConfig {
         }
     }
 
-    private static ArraySetter getArraySetter(Function<String, ?> toObjectConverter) {
+    static ArraySetter getArraySetter(Function<String, ?> toObjectConverter) {
         return (array, index, value) -> Array.set(array, index, toObjectConverter.apply(value));
     }
 
     @SuppressWarnings({"unchecked"})
-    private static Function<String, ?> getToObjectConverter(Class<?> targetType) throws SettingsException {
+    static Function<String, ?> getToObjectConverter(Class<?> targetType) throws SettingsException {
         if (String.class.equals(targetType)) {
             return valueStr -> valueStr;
         } else if (Integer.class.equals(targetType)) {
@@ -80,6 +80,14 @@ public abstract class AConfig {
             return valueStr -> StringUtils.isBlank(valueStr) ? null : Byte.parseByte(valueStr);
         } else if (byte.class.equals(targetType)) {
             return Byte::parseByte;
+        } else if (Float.class.equals(targetType)) {
+            return valueStr -> StringUtils.isBlank(valueStr) ? null : Float.parseFloat(valueStr);
+        } else if (float.class.equals(targetType)) {
+            return Float::parseFloat;
+        } else if (Double.class.equals(targetType)) {
+            return valueStr -> StringUtils.isBlank(valueStr) ? null : Double.parseDouble(valueStr);
+        } else if (double.class.equals(targetType)) {
+            return Double::parseDouble;
         } else if (Boolean.class.equals(targetType)) {
             return valueStr -> StringUtils.isBlank(valueStr) ? null : BooleanUtils.toBoolean(valueStr);
         } else if (boolean.class.equals(targetType)) {
@@ -99,39 +107,55 @@ public abstract class AConfig {
     protected final ClassPool pool;
     protected final Map<String, UnaryOperator<String>> prefixHandlers;
     protected final List<SupplierEx<IValueGetter, SettingsException>> substitutions;
+    protected final ParserRegistry parsers;
+    protected final ResolveMode resolveMode;
+    final ConfigOptions options;
+    private final PrefixTrie prefixTrie;
 
     public AConfig(
             ClassPool pool,
             Map<String, UnaryOperator<String>> prefixHandlers,
             List<SupplierEx<IValueGetter, SettingsException>> substitutions
     ) {
-        this.pool = pool;
-        this.prefixHandlers = prefixHandlers;
-        this.substitutions = substitutions;
+        this(new ConfigOptions(pool, prefixHandlers, substitutions));
     }
 
-    public abstract IValueGetter getValueGetter() throws SettingsException;
+    public AConfig(ConfigOptions options) {
+        this.options = options;
+        pool = options.getPool();
+        prefixHandlers = options.getPrefixHandlers();
+        prefixTrie = PrefixTrie.compile(prefixHandlers);
+        substitutions = options.getSubstitutions();
+        parsers = options.getParsers();
+        resolveMode = options.getResolveMode();
+    }
 
-    private String getStringValue(IValueGetter properties, String prefixName, Method m) throws SettingsException {
-        final Class<?> returnType = m.getReturnType();
+    public abstract IValueGetter getValueGetter() throws SettingsException;
 
-        final String propertyName = ClassUtils.buildPropertyName(prefixName, m);
+    private String getStringValue(
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
+    ) throws SettingsException {
+        final String resolvedStr = substitutor.getResolved(propertyName);
+        if (resolvedStr != null) {
+            if (log.isTraceEnabled()) {
+                log.trace("Property " + propertyName + " for method " + binding.getMethod().getName() + " is resolved to " + resolvedStr);
+            }
+            return resolvedStr;
+        }
 
-        String valueStr = properties.get(propertyName);
+        String valueStr = substitutor.getProperties().get(propertyName);
         if (log.isTraceEnabled()) {
-            log.trace("Property " + propertyName + " for method " + m.getName() + " is " + valueStr);
+            log.trace("Property " + propertyName + " for method " + binding.getMethod().getName() + " is " + valueStr);
         }
 
         if (valueStr == null) {
             // Check for default value
-
-            final DefaultValue field = m.getAnnotation(DefaultValue.class);
-
-            final boolean optional = m.isAnnotationPresent(Optional.class);
-            final String defValue = field == null ? null : field.value();
+            final String defValue = binding.getDefaultValue();
             if (StringUtils.isEmpty(defValue)) {
-                if (returnType.isPrimitive() || !optional && defValue == null) {
-                    throw new NoPropertyException(propertyName, m);
+                if (binding.isPrimitive() || !binding.isOptional() && defValue == null) {
+                    throw new NoPropertyException(propertyName, binding.getMethod());
                 }
             } else {
                 if (log.isTraceEnabled()) {
@@ -141,179 +165,188 @@ public abstract class AConfig {
             valueStr = defValue;
         }
 
+        return processValue(substitutor, propertyName, valueStr);
+    }
+
+    /**
+     * Substitutes variables in the value and applies prefix handlers.
+     */
+    private String processValue(Substitutor substitutor, String propertyName, String valueStr) throws SettingsException {
         if (StringUtils.isNotBlank(valueStr)) {
             // Substitute variables if exists
-            Set<String> invalidVars = new HashSet<>();
-
-            boolean replaced;
-            do {
-                replaced = false;
-                Matcher matcher = VAR_EXPR.matcher(valueStr);
-
-                StringBuffer result = new StringBuffer();
-                while (matcher.find()) {
-                    String varName = matcher.group(1);
-                    if (Objects.equals(varName, propertyName)) {
-                        throw new SettingsException("Recurrent reference to a property " + propertyName);
-                    }
-                    if (!invalidVars.contains(varName)) {
-                        String substitution = properties.get(varName);
-                        if (substitution == null) {
-                            substitution = getSubstitution(varName);
-                        }
-                        if (substitution != null) {
-                            matcher.appendReplacement(result, Matcher.quoteReplacement(substitution));
-                            replaced = true;
-                            continue;
-                        }
-                    }
-
-                    // Store invalid var
-                    invalidVars.add(varName);
-                    matcher.appendReplacement(result, Matcher.quoteReplacement("${" + varName + "}"));
-                }
-                matcher.appendTail(result);
-
-                if (replaced) {
-                    valueStr = result.toString();
-                }
-            } while (replaced);
+            valueStr = substitutor.substitute(propertyName, valueStr);
         }
 
         if (StringUtils.isNotBlank(valueStr)) {
             // Process prefixed values parsers
-            boolean replaced;
-            do {
-                replaced = false;
-                for (Map.Entry<String, UnaryOperator<String>> h: prefixHandlers.entrySet()) {
-                    String prefix = h.getKey();
-                    if (valueStr.startsWith(prefix)) {
-                        valueStr = h.getValue().apply(valueStr.substring(prefix.length()));
-                        replaced = true;
-                        break;
-                    }
-                }
-            } while (replaced);
+            valueStr = prefixTrie.apply(valueStr);
         }
 
         return valueStr;
     }
 
-    private String getSubstitution(String varName) throws SettingsException {
-        if (StringUtils.isBlank(varName)) {
-            return null;
+    /**
+     * Processes all the loaded values in advance if it is requested by {@linkplain #resolveMode}. Values which can't be
+     * processed are left for processing on bind.
+     *
+     * @param properties loaded raw values
+     * @return snapshot of processed values or the given values if values are processed on bind
+     */
+    protected IValueGetter resolve(IValueGetter properties) {
+        if (properties == null || resolveMode == ResolveMode.LAZY) {
+            return properties;
+        }
+
+        final List<String> keys = new ArrayList<>(properties.keySet());
+        final Map<String, String> resolvedValues;
+        if (resolveMode == ResolveMode.PARALLEL && keys.size() >= PARALLEL_RESOLVE_THRESHOLD) {
+            // Each part is processed with its own substitutor: substitutor caches are not thread-safe
+            final int parts = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, keys.size() / (PARALLEL_RESOLVE_THRESHOLD / 4));
+            final int partSize = (keys.size() + parts - 1) / parts;
+            resolvedValues = IntStream.range(0, parts).parallel()
+                    .mapToObj(i -> resolveValues(properties, keys.subList(i * partSize, Math.min(keys.size(), (i + 1) * partSize))))
+                    .collect(HashMap::new, Map::putAll, Map::putAll);
+        } else {
+            resolvedValues = resolveValues(properties, keys);
         }
-        for (SupplierEx<IValueGetter, SettingsException> vg: substitutions) {
-            String val = vg.get().get(varName);
-            if (val != null) {
-                return val;
-            }
+
+        if (log.isTraceEnabled()) {
+            log.trace("Resolved " + resolvedValues.size() + " of " + keys.size() + " values in advance");
         }
-        return null;
+        return new ResolvedValueGetter(properties, resolvedValues);
     }
 
-    protected <T> List<Object> buildConstructorParameters(
-            ClassPool pool,
-            Class<T> clazz,
-            String prefixName,
-            IValueGetter properties
-    ) throws SettingsException {
-        List<Object> values = new ArrayList<>();
-
-        for (Method method: clazz.getMethods()) {
-            if (ClassUtils.ignoreMethod(method)) {
+    private Map<String, String> resolveValues(IValueGetter properties, List<String> keys) {
+        final Substitutor substitutor = new Substitutor(properties, substitutions);
+        final Map<String, String> resolvedValues = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (String key: keys) {
+            final String valueStr = properties.get(key);
+            if (valueStr == null) {
                 continue;
             }
-
-            final GroupField groupField = method.getAnnotation(GroupField.class);
-
             try {
-                final Object value;
-                if (groupField != null) {
-                    value = getGroupFieldValue(pool, groupField.value(), properties, prefixName, method);
-                } else {
-                    final Class<?> returnType = method.getReturnType();
-                    final String delimiter;
-                    delimiter = ClassUtils.getDelimiter(method);
-
-                    final IParser<?> parser = ClassUtils.getCustomConverter(method);
-                    if (parser != null && returnType.isAssignableFrom(parser.getReturnType())) {
-                        String valueStr = getStringValue(properties, prefixName, method);
-
-                        if (valueStr != null) {
-                            try {
-                                value = parser.apply(valueStr);
-                            } catch (RuntimeException e) {
-                                throw new SettingsException("Can't parse value " + valueStr + " to type " + returnType.getName(), e);
-                            }
-                        } else {
-                            value = null;
-                        }
-                    } else if (returnType.isArray()) {
-                        value = getArrayFieldValue(properties, prefixName, method, delimiter, parser);
-                    } else if (Collection.class.isAssignableFrom(returnType)) {
-                        value = getCollectionFieldValue(properties, prefixName, method, delimiter, parser);
-                    } else if (Map.class.isAssignableFrom(returnType)) {
-                        value = getMapFieldValue(properties, prefixName, method, delimiter);
-                    } else if (returnType.isInterface()) {
-                        final String propertyName = ClassUtils.buildPropertyName(prefixName, method);
-
-                        @SuppressWarnings("unchecked") final Constructor<?> c = ClassUtils.getSettingsConstructor(returnType, pool);
-
-                        value = ClassUtils.initialize(c, buildConstructorParameters(pool, returnType, propertyName, properties));
-                    } else {
-                        String valueStr = getStringValue(properties, prefixName, method);
-
-                        if (valueStr != null) {
-                            try {
-                                value = getToObjectConverter(returnType).apply(valueStr);
-                            } catch (RuntimeException e) {
-                                throw new SettingsException("Can't parse value " + valueStr + " to type " + returnType.getName(), e);
-                            }
-                        } else {
-                            value = null;
-                        }
-                    }
+                final String resolved = processValue(substitutor, key, valueStr);
+                if (resolved != null) {
+                    resolvedValues.put(key, resolved);
+                }
+            } catch (SettingsException | RuntimeException e) {
+                // The error will be reported on bind for the property
+                if (log.isTraceEnabled()) {
+                    log.trace("Value of property " + key + " can't be resolved in advance", e);
                 }
+            }
+        }
+        return resolvedValues;
+    }
 
-                values.add(value);
-            } catch (NoPropertyException e) {
-                if (method.getReturnType().isPrimitive() || method.getAnnotation(Optional.class) == null) {
-                    throw e;
+    /**
+     * Substitutes variables in all the values without applying prefix handlers.
+     *
+     * @param properties loaded raw values
+     * @return values with substituted variables
+     * @throws SettingsException if a value refers to itself or refers to an undefined variable
+     */
+    IValueGetter substituteAll(IValueGetter properties) throws SettingsException {
+        final Substitutor substitutor = new Substitutor(properties, substitutions);
+        final Map<String, String> values = new LinkedHashMap<>(properties.keySet().size() * 4 / 3 + 1);
+        for (String key: properties.keySet()) {
+            String value = properties.get(key);
+            if (StringUtils.isNotBlank(value)) {
+                try {
+                    value = substitutor.substitute(key, value);
+                } catch (SettingsException | RuntimeException e) {
+                    throw new SettingsException("Value of property " + key + " can't be substituted", e);
+                }
+                final List<String> unresolved = Substitutor.references(value);
+                if (!unresolved.isEmpty()) {
+                    throw new SettingsException("Value of property " + key + " refers to undefined variables " + unresolved);
                 }
-                // Optional values could be omitted
-                values.add(null);
             }
+            values.put(key, value);
         }
-        return values;
+        return LoadUtils.wrap(values);
     }
 
-    @SuppressWarnings("unchecked")
-    private Object getArrayFieldValue(
-            IValueGetter properties,
-            String prefixName,
-            Method method,
-            String delimiter,
-            IParser<?> parser
+    /**
+     * Creates an implementation object for the settings interface and fills it with values from the given properties.
+     *
+     * @param pool       class pool for generating classes
+     * @param clazz      settings interface
+     * @param prefixName prefix for property names
+     * @param properties source of property values
+     * @param <T>        settings interface
+     * @return initialized implementation of the settings interface
+     * @throws SettingsException if properties can't be bound to the interface
+     */
+    protected <T> T bind(ClassPool pool, Class<T> clazz, String prefixName, IValueGetter properties) throws SettingsException {
+        return bind(pool, clazz, prefixName, new Substitutor(properties, substitutions));
+    }
+
+    <T> T bind(ClassPool pool, Class<T> clazz, String prefixName, Substitutor substitutor) throws SettingsException {
+        final ISettingsBinder<T> binder = ClassUtils.getSettingsBinder(clazz, pool);
+        return binder.bind(new BindingSource(pool, SettingsSchema.of(clazz), prefixName, substitutor));
+    }
+
+    private Object getFieldValue(
+            ClassPool pool,
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
     ) throws SettingsException {
-        final Class<?> returnType = method.getReturnType();
-        Class<?> targetType = returnType.getComponentType();
-        if (parser != null) {
-            if (!targetType.isAssignableFrom(parser.getReturnType())) {
-                throw new SettingsException(
-                        "Converter return type " + parser.getReturnType().getName() + " can't be assigned to array component type" +
-                                returnType.getName()
-                );
-            }
+        if (binding.getKind() == SettingsSchema.Kind.GROUP) {
+            binding.checkDeclaration();
+            return getGroupFieldValue(pool, binding.getTargetType(), substitutor, propertyName, binding);
         }
 
-        String arrayString = getStringValue(properties, prefixName, method);
+        final Class<?> returnType = binding.getReturnType();
+        if (binding.isValueParser(parsers)) {
+            String valueStr = getStringValue(substitutor, propertyName, binding);
+            if (valueStr == null) {
+                return null;
+            }
+            final IParser<?> parser = binding.getParser(parsers);
+            try {
+                return parser.apply(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type " + returnType.getName(), e);
+            }
+        }
 
-        if (targetType == null) {
-            throw new IllegalStateException("Array component type is null? " + returnType.getName());
+        switch (binding.getKind()) {
+            case ARRAY:
+                return getArrayFieldValue(substitutor, propertyName, binding);
+            case COLLECTION:
+                return getCollectionFieldValue(substitutor, propertyName, binding);
+            case MAP:
+                return getMapFieldValue(substitutor, propertyName, binding);
+            case NESTED:
+                return bind(pool, returnType, propertyName, substitutor);
+            default: {
+                String valueStr = getStringValue(substitutor, propertyName, binding);
+                if (valueStr == null) {
+                    return null;
+                }
+                binding.checkValue();
+                try {
+                    return binding.getConverter().apply(valueStr);
+                } catch (RuntimeException e) {
+                    throw new SettingsException("Can't parse value " + valueStr + " to type " + returnType.getName(), e);
+                }
+            }
         }
+    }
+
+    private Object getArrayFieldValue(
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
+    ) throws SettingsException {
+        binding.checkDeclaration();
+        final Class<?> targetType = binding.getTargetType();
+
+        String arrayString = getStringValue(substitutor, propertyName, binding);
 
-        String[] values = StringUtils.splitByWholeSeparator(arrayString, delimiter);
+        String[] values = StringUtils.splitByWholeSeparator(arrayString, binding.getDelimiter());
         final int arrayLength;
         if (values != null) {
             arrayLength = values.length;
@@ -325,9 +358,11 @@ public abstract class AConfig {
             return o;
         }
 
+        binding.checkElements();
+        final IParser<?> parser = binding.getParser(parsers);
         final ArraySetter setter;
         if (parser == null) {
-            setter = getArraySetter(targetType);
+            setter = binding.getArraySetter();
         } else {
             setter = getArraySetter(parser);
         }
@@ -353,101 +388,47 @@ public abstract class AConfig {
 
     @SuppressWarnings("unchecked")
     private Object getCollectionFieldValue(
-            IValueGetter properties,
-            String prefixName,
-            Method method,
-            String delimiter,
-            IParser<?> parser
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
     ) throws SettingsException {
-        String arrayString = getStringValue(properties, prefixName, method);
+        String arrayString = getStringValue(substitutor, propertyName, binding);
         if (arrayString == null) {
             return null;
         }
-        final Class<?> returnRawType;
-        final Class<?> proposalReturnClass;
-        if (method.getGenericReturnType() instanceof ParameterizedType) {
-            final ParameterizedType returnType = (ParameterizedType) method.getGenericReturnType();
-            if (!(returnType.getRawType() instanceof Class)) {
-                throw new SettingsException("Raw type is not a class " + returnType + " in method " + method.toString());
-            }
-            returnRawType = (Class) returnType.getRawType();
-            proposalReturnClass = BuilderUtils.detectTypeArgClass(returnType);
-        } else {
-            returnRawType = (Class<?>) method.getGenericReturnType();
-            proposalReturnClass = null;
-        }
+        binding.checkValue();
 
-        final Class<?> targetType;
-        CollectionOf collectionOf = method.getAnnotation(CollectionOf.class);
-        if (collectionOf != null) {
-            targetType = collectionOf.value();
-        } else {
-            targetType = proposalReturnClass;
-        }
+        final Class<?> targetType = binding.getTargetType();
+        final SettingsSchema.Container container = binding.getContainer();
 
-        if (proposalReturnClass != null) {
-            if (!targetType.isAssignableFrom(proposalReturnClass)) {
-                throw new SettingsException(
-                        "Specified return object " + targetType.getName() + " cannot be casted to " + proposalReturnClass.getName()
-                );
+        String[] values = StringUtils.splitByWholeSeparator(arrayString, binding.getDelimiter());
+        if (values == null || values.length == 0) {
+            if (container == SettingsSchema.Container.SET || container == SettingsSchema.Container.ENUM_SET) {
+                return Collections.emptySet();
+            } else {
+                return Collections.emptyList();
             }
         }
 
-        if (targetType == null) {
-            throw new SettingsException(
-                    "Cannot detect component type of list. Please, use @CollectionOf annotation for method " + method.toString()
-            );
-        }
+        binding.checkElements();
 
-        if (parser != null) {
-            if (!targetType.isAssignableFrom(parser.getReturnType())) {
-                throw new SettingsException(
-                        "Converter return type " + parser.getReturnType().getName() + " can't be assigned to array component type" +
-                                targetType.getName() + " for method " + method.getName()
-                );
-            }
-        }
-
-        String[] values = StringUtils.splitByWholeSeparator(arrayString, delimiter);
         final Collection collection;
-        final boolean isSet;
-        final boolean isList;
-        if (returnRawType.equals(Set.class)) {
-            if (values == null || values.length == 0) {
-                return Collections.emptySet();
-            }
-
-            isList = false;
-            isSet = true;
-
-            if (Enum.class.isAssignableFrom(targetType)) {
+        switch (container) {
+            case ENUM_SET:
                 collection = EnumSet.noneOf((Class<Enum>) targetType);
-            } else {
+                break;
+            case SET:
                 collection = new LinkedHashSet<>(values.length);
-            }
-        } else if (returnRawType.equals(List.class) || returnRawType.equals(Collection.class)) {
-            if (values == null || values.length == 0) {
-                return Collections.emptyList();
-            }
-
-            isList = returnRawType.equals(List.class);
-            isSet = false;
-
-            collection = new ArrayList<>(values.length);
-        } else {
-            throw new SettingsException(
-                    "Please, specify container by interface " + Collection.class.getName() + ", " + List.class.getName() + " or " +
-                            Set.class.getName() + " as return type for collections."
-            );
-        }
-
-        if (targetType.isInterface() || java.lang.reflect.Modifier.isAbstract(targetType.getModifiers())) {
-            throw new SettingsException("Only non-abstract classes could be specified as collection elements");
+                break;
+            default:
+                collection = new ArrayList<>(values.length);
+                break;
         }
 
+        final IParser<?> parser = binding.getParser(parsers);
         final Function<String, ?> converter;
         if (parser == null) {
-            converter = getToObjectConverter(targetType);
+            converter = binding.getConverter();
         } else {
             converter = parser;
         }
@@ -464,100 +445,38 @@ public abstract class AConfig {
             }
         }
 
-        if (isList) {
-            return Collections.unmodifiableList((List<?>) collection);
-        } else if (isSet) {
-            return Collections.unmodifiableSet((Set<?>) collection);
-        } else {
-            return Collections.unmodifiableCollection((Collection<?>) collection);
+        switch (container) {
+            case LIST:
+                return Collections.unmodifiableList((List<?>) collection);
+            case SET:
+            case ENUM_SET:
+                return Collections.unmodifiableSet((Set<?>) collection);
+            default:
+                return Collections.unmodifiableCollection((Collection<?>) collection);
         }
     }
 
     @SuppressWarnings("unchecked")
     private Map getMapFieldValue(
-            IValueGetter properties,
-            String prefixName,
-            Method method,
-            String delimiter
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
     ) throws SettingsException {
-        String arrayString = getStringValue(properties, prefixName, method);
+        String arrayString = getStringValue(substitutor, propertyName, binding);
         if (arrayString == null) {
             return null;
         }
+        binding.checkValue();
 
-        final Class<?> returnRawType;
-        final Class<?> proposalKeyClass;
-        final Class<?> proposalValueClass;
-        if (method.getGenericReturnType() instanceof ParameterizedType) {
-            final ParameterizedType returnType = (ParameterizedType) method.getGenericReturnType();
-            if (!(returnType.getRawType() instanceof Class)) {
-                throw new SettingsException("Raw type is not a class " + returnType + " in method " + method.toString());
-            }
-            returnRawType = (Class) returnType.getRawType();
-            Class<?>[] detectTypeArgsClass = BuilderUtils.detectTypeArgsClass(returnType, 2);
-            proposalKeyClass = detectTypeArgsClass[0];
-            proposalValueClass = detectTypeArgsClass[1];
-        } else {
-            returnRawType = (Class<?>) method.getGenericReturnType();
-            proposalKeyClass = null;
-            proposalValueClass = null;
-        }
-
-        if (!Map.class.equals(returnRawType)) {
-            throw new SettingsException("Please, specify general interface for maps as return type for method " + method.toString());
-        }
-
-        final Class<?> targetKeyType;
-        MapKey mapKey = method.getAnnotation(MapKey.class);
-        if (mapKey != null) {
-            targetKeyType = mapKey.value();
-        } else {
-            targetKeyType = proposalKeyClass;
-        }
-
-        if (proposalKeyClass != null) {
-            if (!targetKeyType.isAssignableFrom(proposalKeyClass)) {
-                throw new SettingsException(
-                        "Specified return object " + targetKeyType.getName() + " cannot be casted to " + proposalKeyClass.getName()
-                );
-            }
-        }
-
-        if (targetKeyType == null) {
-            throw new SettingsException(
-                    "Cannot detect key component type of map. Please, use @MapKey annotation for method " + method.toString()
-            );
-        }
-
-        final Class<?> targetValueType;
-        MapValue collectionOf = method.getAnnotation(MapValue.class);
-        if (collectionOf != null) {
-            targetValueType = collectionOf.value();
-        } else {
-            targetValueType = proposalValueClass;
-        }
-
-        if (proposalValueClass != null) {
-            if (!targetValueType.isAssignableFrom(proposalValueClass)) {
-                throw new SettingsException(
-                        "Specified return object " + targetValueType.getName() + " cannot be casted to " + proposalValueClass.getName()
-                );
-            }
-        }
-
-        if (targetValueType == null) {
-            throw new SettingsException(
-                    "Cannot detect value component type of map. Please, use @MapValue annotation for method " + method.toString()
-            );
-        }
-
-
-        String[] values = StringUtils.splitByWholeSeparator(arrayString, delimiter);
+        String[] values = StringUtils.splitByWholeSeparator(arrayString, binding.getDelimiter());
 
         if (values == null || values.length == 0) {
             return Collections.emptyMap();
         }
 
+        binding.checkElements();
+
+        final Class<?> targetKeyType = binding.getTargetType();
         final Map map;
         if (Enum.class.isAssignableFrom(targetKeyType)) {
             map = new EnumMap(targetKeyType);
@@ -565,10 +484,10 @@ public abstract class AConfig {
             map = new LinkedHashMap(values.length);
         }
 
-        Function<String, ?> keyParser = getToObjectConverter(targetKeyType);
-        Function<String, ?> valueParser = getToObjectConverter(targetValueType);
+        Function<String, ?> keyParser = binding.getConverter();
+        Function<String, ?> valueParser = binding.getValueConverter();
 
-        final String splitter = ClassUtils.getSplitter(method);
+        final String splitter = binding.getSplitter();
 
         for (String part: values) {
             String[] parts = StringUtils.splitByWholeSeparator(part, splitter, 2);
@@ -601,49 +520,36 @@ public abstract class AConfig {
     private <T> Map<String, T> getGroupFieldValue(
             ClassPool pool,
             Class<T> clazz,
-            IValueGetter properties,
-            String prefixName,
-            Method method
+            Substitutor substitutor,
+            String propertyName,
+            SettingsSchema.Binding binding
     ) throws SettingsException {
-        final Class<?> returnType = method.getReturnType();
-        if (!Map.class.equals(returnType)) {
-            throw new SettingsException("Group field should have java.util.Map return type only");
-        }
-        @SuppressWarnings("unchecked") final Constructor<T> c = ClassUtils.getSettingsConstructor(clazz, pool);
+        final ISettingsBinder<T> binder = ClassUtils.getSettingsBinder(clazz, pool);
+        final SettingsSchema<T> schema = SettingsSchema.of(clazz);
 
-        final String propertyName = ClassUtils.buildPropertyName(prefixName, method);
         final String propertyNameDot = propertyName + ".";
 
-        Set<String> propertyNames = properties.keySet().stream().filter(name -> name.startsWith(propertyNameDot)).collect(Collectors.toSet());
-
-        // Search for possible prefixes
+        // Search for possible prefixes: property names are <propertyName>.[<prefix>.]<group property name>
+        final Set<String> groupPropertyNames = schema.getPropertyNames();
+        final int prefixLen = propertyNameDot.length();
         Set<String> prefixes = new HashSet<>();
-        for (Method mm: clazz.getMethods()) {
-            if (ClassUtils.ignoreMethod(mm)) {
-                continue;
-            }
-
-            final String suffix = "." + ClassUtils.buildPropertyName(null, mm);
-
-            for (String name: propertyNames) {
-                if (name.endsWith(suffix)) {
-                    final String prefix;
-                    final int prefixLen = propertyNameDot.length();
-                    final int cutLen = name.length() - suffix.length();
-                    if (prefixLen >= cutLen) {
-                        prefix = "";
+        for (String name: substitutor.getProperties().keysWithPrefix(propertyNameDot)) {
+            int dot = name.indexOf('.');
+            while (dot >= 0) {
+                if (groupPropertyNames.contains(name.substring(dot + 1))) {
+                    if (prefixLen >= dot) {
+                        prefixes.add("");
                     } else {
-                        prefix = name.substring(prefixLen, cutLen);
+                        prefixes.add(name.substring(prefixLen, dot));
                     }
-
-                    prefixes.add(prefix);
                 }
+                dot = name.indexOf('.', dot + 1);
             }
         }
 
-        boolean required = method.getAnnotation(Optional.class) == null;
+        boolean required = !binding.isOptional();
         if (required && !prefixes.contains("")) {
-            throw new SettingsException("A default group set is required for method " + method.getName());
+            throw new SettingsException("A default group set is required for method " + binding.getMethod().getName());
         }
 
         Map<String, T> result = new HashMap<>();
@@ -656,10 +562,161 @@ public abstract class AConfig {
                 realPrefix = propertyName;
             }
 
-            result.put(p, ClassUtils.initialize(c, buildConstructorParameters(pool, clazz, realPrefix, properties)));
+            result.put(p, binder.bind(new BindingSource(pool, schema, realPrefix, substitutor)));
         }
 
         return Collections.unmodifiableMap(result);
     }
 
+    /**
+     * Reads and parses property values on demand of a generated binder. Primitive values are parsed without boxing.
+     */
+    private final class BindingSource implements IBindingSource {
+        private final ClassPool pool;
+        private final Substitutor substitutor;
+        private final SettingsSchema.Binding[] bindings;
+        private final String[] propertyNames;
+
+        private BindingSource(ClassPool pool, SettingsSchema<?> schema, String prefixName, Substitutor substitutor) {
+            this.pool = pool;
+            this.substitutor = substitutor;
+            bindings = schema.getBindings();
+            propertyNames = schema.getPropertyNames(prefixName);
+        }
+
+        @Override
+        public Object getObject(int idx) throws SettingsException {
+            final SettingsSchema.Binding binding = bindings[idx];
+            try {
+                return getFieldValue(pool, substitutor, propertyNames[idx], binding);
+            } catch (NoPropertyException e) {
+                if (binding.isPrimitive() || !binding.isOptional()) {
+                    throw e;
+                }
+                // Optional values could be omitted
+                return null;
+            }
+        }
+
+        @Override
+        public boolean getBoolean(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return (Boolean) getObject(idx);
+            }
+            return BooleanUtils.toBoolean(valueStr);
+        }
+
+        @Override
+        public byte getByte(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).byteValue();
+            }
+            try {
+                return Byte.parseByte(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type byte", e);
+            }
+        }
+
+        @Override
+        public char getChar(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return (Character) getObject(idx);
+            }
+            try {
+                return valueStr.charAt(0);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type char", e);
+            }
+        }
+
+        @Override
+        public short getShort(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).shortValue();
+            }
+            try {
+                return Short.parseShort(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type short", e);
+            }
+        }
+
+        @Override
+        public int getInt(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).intValue();
+            }
+            try {
+                return Integer.parseInt(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type int", e);
+            }
+        }
+
+        @Override
+        public long getLong(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).longValue();
+            }
+            try {
+                return Long.parseLong(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type long", e);
+            }
+        }
+
+        @Override
+        public float getFloat(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).floatValue();
+            }
+            try {
+                return Float.parseFloat(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type float", e);
+            }
+        }
+
+        @Override
+        public double getDouble(int idx) throws SettingsException {
+            final String valueStr = getPrimitiveValue(idx);
+            if (valueStr == null) {
+                return ((Number) getObject(idx)).doubleValue();
+            }
+            try {
+                return Double.parseDouble(valueStr);
+            } catch (RuntimeException e) {
+                throw new SettingsException("Can't parse value " + valueStr + " to type double", e);
+            }
+        }
+
+        /**
+         * Reads a string value of a primitive property which could be parsed directly. Only plain values are parsed
+         * directly: primitive properties with a {@linkplain org.xblackcat.sjpu.settings.ann.ParseWith custom parser} are
+         * read as a boxed object.
+         *
+         * @return string value or <code>null</code> if the property should be processed in the generic way
+         */
+        private String getPrimitiveValue(int idx) throws SettingsException {
+            final SettingsSchema.Binding binding = bindings[idx];
+            if (binding.getKind() != SettingsSchema.Kind.VALUE) {
+                return null;
+            }
+
+            final String valueStr = getStringValue(substitutor, propertyNames[idx], binding);
+            if (valueStr == null) {
+                throw new SettingsException("Null value for property " + propertyNames[idx] + " of primitive type");
+            }
+            binding.checkValue();
+            return valueStr;
+        }
+    }
 }
@@ -8,9 +8,15 @@ import org.xblackcat.sjpu.settings.util.IValueGetter;
 import org.xblackcat.sjpu.util.function.SupplierEx;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
 /**
@@ -19,18 +25,29 @@ import java.util.function.UnaryOperator;
  * @author xBlackCat
  */
 public abstract class APermanentConfig extends AConfig implements IConfig {
-    private IValueGetter loadedProperties;
+    private final AtomicReference<CompletableFuture<IValueGetter>> loadedProperties = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<IValueGetter>> resolvedProperties = new AtomicReference<>();
+    private final ConcurrentMap<ConfigInfo<?>, Object> boundObjects = new ConcurrentHashMap<>();
+    private final boolean cacheInstances;
 
     public APermanentConfig(
             ClassPool pool,
             Map<String, UnaryOperator<String>> prefixHandlers,
             List<SupplierEx<IValueGetter, SettingsException>> substitutions
     ) {
-        super(pool, prefixHandlers, substitutions);
+        this(new ConfigOptions(pool, prefixHandlers, substitutions));
+    }
+
+    public APermanentConfig(ConfigOptions options) {
+        super(options);
+        cacheInstances = options.isCacheInstances();
     }
 
     /**
-     * Loads settings for specified interface.
+     * Loads settings for specified interface. Values of permanent config are not changed so the bound object is cached
+     * and returned for the following requests of the interface with the same prefix unless caching is disabled or the
+     * object is bound with {@linkplain IValueGetter#isLive() live} values: read from such a source as JVM system
+     * properties or substituted from it on bind.
      *
      * @param clazz      target interface class for holding settings.
      * @param prefixName override prefix for properties
@@ -41,16 +58,25 @@ public abstract class APermanentConfig extends AConfig implements IConfig {
      */
     @Override
     public <T> T get(Class<T> clazz, String prefixName, boolean optional) throws SettingsException {
+        final ConfigInfo<T> configInfo = cacheInstances ? new ConfigInfo<>(clazz, prefixName, optional) : null;
+        if (configInfo != null) {
+            final Object cached = boundObjects.get(configInfo);
+            if (cached != null) {
+                return clazz.cast(cached);
+            }
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Load defaults for class " + clazz.getName() + " [prefix: " + prefixName + "]");
         }
 
         ClassPool pool = BuilderUtils.getClassPool(this.pool, clazz);
 
-        @SuppressWarnings("unchecked") final Constructor<T> c = ClassUtils.getSettingsConstructor(clazz, pool);
+        // Prepare classes before loading values
+        ClassUtils.getSettingsBinder(clazz, pool);
+
+        IValueGetter loadedProperties = getResolvedValueGetter();
 
-        IValueGetter loadedProperties = getValueGetter();
-        
         if (loadedProperties == null) {
             // Values are not loaded
             if (ClassUtils.allMethodsHaveDefaults(clazz)) {
@@ -67,22 +93,114 @@ public abstract class APermanentConfig extends AConfig implements IConfig {
             }
         }
 
-        List<Object> values = buildConstructorParameters(pool, clazz, prefixName, loadedProperties);
-
-        return ClassUtils.initialize(c, values);
+        final Substitutor substitutor = new Substitutor(loadedProperties, substitutions);
+        final T object = bind(pool, clazz, prefixName, substitutor);
+        if (configInfo != null && !substitutor.isLive()) {
+            // Return the object bound by a concurrent request if any
+            final Object cached = boundObjects.putIfAbsent(configInfo, object);
+            if (cached != null) {
+                return clazz.cast(cached);
+            }
+        }
+        return object;
     }
 
     @Override
     public IValueGetter getValueGetter() throws SettingsException {
-        if (loadedProperties == null) {
-            try {
-                loadedProperties = loadProperties();
-            } catch (IOException e) {
-                throw new SettingsException("Can't obtain list of values ", e);
+        return await(getLoadedValues(Runnable::run));
+    }
+
+    /**
+     * Loads values and processes them according to {@linkplain #resolveMode} on the executor. Concurrent calls share
+     * the same loading; failed loading is repeated on the next call.
+     */
+    @Override
+    public CompletableFuture<IConfig> preload(Executor executor) {
+        return getResolvedValues(executor).thenApply(v -> this);
+    }
+
+    /**
+     * @return loaded values processed according to {@linkplain #resolveMode}
+     */
+    private IValueGetter getResolvedValueGetter() throws SettingsException {
+        return await(getResolvedValues(Runnable::run));
+    }
+
+    private CompletableFuture<IValueGetter> getLoadedValues(Executor executor) {
+        return singleFlight(
+                loadedProperties, executor, future -> {
+                    try {
+                        future.complete(loadProperties());
+                    } catch (IOException e) {
+                        future.completeExceptionally(new SettingsException("Can't obtain list of values ", e));
+                    } catch (RuntimeException | Error e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+        );
+    }
+
+    private CompletableFuture<IValueGetter> getResolvedValues(Executor executor) {
+        return singleFlight(
+                resolvedProperties, executor, future -> getLoadedValues(Runnable::run).whenComplete(
+                        (values, e) -> {
+                            if (e != null) {
+                                future.completeExceptionally(e);
+                                return;
+                            }
+                            try {
+                                future.complete(resolve(values));
+                            } catch (RuntimeException | Error ex) {
+                                future.completeExceptionally(ex);
+                            }
+                        }
+                )
+        );
+    }
+
+    /**
+     * Returns the current loading or starts a new one if there is no loading or the last one is failed.
+     */
+    private static CompletableFuture<IValueGetter> singleFlight(
+            AtomicReference<CompletableFuture<IValueGetter>> reference,
+            Executor executor,
+            Consumer<CompletableFuture<IValueGetter>> loader
+    ) {
+        while (true) {
+            final CompletableFuture<IValueGetter> current = reference.get();
+            if (current != null && !current.isCompletedExceptionally()) {
+                return current;
+            }
+
+            final CompletableFuture<IValueGetter> future = new CompletableFuture<>();
+            if (reference.compareAndSet(current, future)) {
+                try {
+                    executor.execute(() -> loader.accept(future));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+                return future;
             }
+        }
+    }
 
+    private static IValueGetter await(CompletableFuture<IValueGetter> future) throws SettingsException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SettingsException("Interrupted while waiting for values", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SettingsException) {
+                throw (SettingsException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SettingsException("Can't obtain list of values ", cause);
         }
-        return loadedProperties;
     }
 
     protected abstract IValueGetter loadProperties() throws IOException;
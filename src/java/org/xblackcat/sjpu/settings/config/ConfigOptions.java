@@ -0,0 +1,167 @@
+package org.xblackcat.sjpu.settings.config;
+
+import javassist.ClassPool;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.util.function.SupplierEx;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+/**
+ * Settings of a config: how values are loaded, processed and bound. Options are immutable: <code>with*</code> methods
+ * return a modified copy.
+ * <p>
+ * 18.10.2026 23:58
+ *
+ * @author xBlackCat
+ */
+public final class ConfigOptions {
+    private final ClassPool pool;
+    private final Map<String, UnaryOperator<String>> prefixHandlers;
+    private final List<SupplierEx<IValueGetter, SettingsException>> substitutions;
+    private final ParserRegistry parsers;
+    private final ResolveMode resolveMode;
+    private final boolean cacheInstances;
+    private final Executor loadExecutor;
+    private final Duration loadTimeout;
+
+    /**
+     * Creates options with a new parser registry, {@linkplain ResolveMode#LAZY lazy} resolving of values, cached bound
+     * objects and sequential loading of sources. Prefix handlers are compiled when a config is created so later changes
+     * of the map don't affect the config.
+     */
+    public ConfigOptions(
+            ClassPool pool,
+            Map<String, UnaryOperator<String>> prefixHandlers,
+            List<SupplierEx<IValueGetter, SettingsException>> substitutions
+    ) {
+        this(pool, prefixHandlers, substitutions, new ParserRegistry(), ResolveMode.LAZY, true, null, null);
+    }
+
+    private ConfigOptions(
+            ClassPool pool,
+            Map<String, UnaryOperator<String>> prefixHandlers,
+            List<SupplierEx<IValueGetter, SettingsException>> substitutions,
+            ParserRegistry parsers,
+            ResolveMode resolveMode,
+            boolean cacheInstances,
+            Executor loadExecutor,
+            Duration loadTimeout
+    ) {
+        this.pool = pool;
+        this.prefixHandlers = prefixHandlers;
+        this.substitutions = substitutions;
+        this.parsers = parsers;
+        this.resolveMode = resolveMode;
+        this.cacheInstances = cacheInstances;
+        this.loadExecutor = loadExecutor;
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * @param parsers registry of parsers for {@linkplain org.xblackcat.sjpu.settings.ann.ParseWith @ParseWith} annotated
+     *                properties
+     */
+    public ConfigOptions withParsers(ParserRegistry parsers) {
+        return new ConfigOptions(
+                pool,
+                prefixHandlers,
+                substitutions,
+                parsers,
+                resolveMode,
+                cacheInstances,
+                loadExecutor,
+                loadTimeout
+        );
+    }
+
+    /**
+     * @param resolveMode when loaded values are processed by prefix handlers and substitutions
+     */
+    public ConfigOptions withResolveMode(ResolveMode resolveMode) {
+        return new ConfigOptions(
+                pool,
+                prefixHandlers,
+                substitutions,
+                parsers,
+                resolveMode,
+                cacheInstances,
+                loadExecutor,
+                loadTimeout
+        );
+    }
+
+    /**
+     * @param cacheInstances <code>true</code> to return the same object for repeated requests of the same interface with
+     *                       the same prefix from a config with permanent values, <code>false</code> to bind a new object for
+     *                       each request. Objects bound with {@linkplain IValueGetter#isLive() live} values are
+     *                       never cached.
+     */
+    public ConfigOptions withCacheInstances(boolean cacheInstances) {
+        return new ConfigOptions(
+                pool,
+                prefixHandlers,
+                substitutions,
+                parsers,
+                resolveMode,
+                cacheInstances,
+                loadExecutor,
+                loadTimeout
+        );
+    }
+
+    /**
+     * @param loadExecutor executor to load sources of {@linkplain MultiSourceConfig} concurrently. If <code>null</code>
+     *                     sources are loaded one by one in the current thread.
+     * @param loadTimeout  max time to load each source if sources are loaded concurrently. <code>null</code> for no limit.
+     */
+    public ConfigOptions withLoadExecutor(Executor loadExecutor, Duration loadTimeout) {
+        return new ConfigOptions(
+                pool,
+                prefixHandlers,
+                substitutions,
+                parsers,
+                resolveMode,
+                cacheInstances,
+                loadExecutor,
+                loadTimeout
+        );
+    }
+
+    public ClassPool getPool() {
+        return pool;
+    }
+
+    public Map<String, UnaryOperator<String>> getPrefixHandlers() {
+        return prefixHandlers;
+    }
+
+    public List<SupplierEx<IValueGetter, SettingsException>> getSubstitutions() {
+        return substitutions;
+    }
+
+    public ParserRegistry getParsers() {
+        return parsers;
+    }
+
+    public ResolveMode getResolveMode() {
+        return resolveMode;
+    }
+
+    public boolean isCacheInstances() {
+        return cacheInstances;
+    }
+
+    public Executor getLoadExecutor() {
+        return loadExecutor;
+    }
+
+    public Duration getLoadTimeout() {
+        return loadTimeout;
+    }
+}
@@ -24,6 +24,10 @@ public class DefaultConfig extends APermanentConfig {
         super(pool, prefixHandlers, substitutions);
     }
 
+    public DefaultConfig(ConfigOptions options) {
+        super(options);
+    }
+
     @Override
     protected IValueGetter loadProperties() throws IOException {
         return null;
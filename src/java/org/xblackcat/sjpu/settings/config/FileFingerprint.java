@@ -0,0 +1,103 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+/**
+ * Cheap fingerprint of a loaded file content: size and modification time of the file and checksum of the content. Used
+ * to skip reloading of a file if its content is not changed (touch, permission changes, rewriting with the same data).
+ * <p>
+ * 18.10.2026 22:20
+ *
+ * @author xBlackCat
+ */
+final class FileFingerprint {
+    /**
+     * Modification time of a file is not trusted if the file was read within the period after the modification: the file
+     * could be modified again without visible change of the time on file systems with coarse time granularity.
+     */
+    private static final long RACY_PERIOD = 2000;
+
+    private final long size;
+    private final long modified;
+    private final boolean trustModified;
+    private final int length;
+    private final long checksum;
+
+    /**
+     * Reads attributes and content of the file.
+     *
+     * @param file file to read
+     * @return read content with its fingerprint
+     * @throws IOException if file can't be read
+     */
+    static Content read(Path file) throws IOException {
+        if (!Files.isReadable(file)) {
+            throw new IOException("Read access denied for file " + file);
+        }
+        // Attributes are read before the content: a change between the reads will be detected on the next check
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        final long readTime = System.currentTimeMillis();
+        final byte[] data = Files.readAllBytes(file);
+        return new Content(data, new FileFingerprint(attributes, readTime, data));
+    }
+
+    private FileFingerprint(BasicFileAttributes attributes, long readTime, byte[] data) {
+        size = attributes.size();
+        modified = attributes.lastModifiedTime().toMillis();
+        trustModified = readTime - modified > RACY_PERIOD;
+        length = data.length;
+        checksum = checksum(data);
+    }
+
+    /**
+     * Checks size and modification time of the file without reading the content.
+     *
+     * @return <code>true</code> if the file is known to be the same as fingerprinted one.
+     */
+    boolean isUnchanged(Path file) {
+        if (!trustModified) {
+            return false;
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() == size && attributes.lastModifiedTime().toMillis() == modified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the content has the same size and checksum as fingerprinted one.
+     */
+    boolean isSameContent(Content content) {
+        return content.fingerprint.length == length && content.fingerprint.checksum == checksum;
+    }
+
+    private static long checksum(byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    static final class Content {
+        private final byte[] data;
+        private final FileFingerprint fingerprint;
+
+        private Content(byte[] data, FileFingerprint fingerprint) {
+            this.data = data;
+            this.fingerprint = fingerprint;
+        }
+
+        byte[] getData() {
+            return data;
+        }
+
+        FileFingerprint getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.SettingsException;
+
+/**
+ * Typed access to values of settings interface properties during binding. Properties are addressed by index in order defined by
+ * {@linkplain org.xblackcat.sjpu.settings.util.ClassUtils#getPropertyMethods(Class)}
+ * <p>
+ * Primitive getters parse plain values without boxing. Values of primitive properties with a
+ * {@linkplain org.xblackcat.sjpu.settings.ann.ParseWith custom parser} are produced by the parser as objects so they are
+ * boxed and unboxed.
+ * <p>
+ * 18.10.2026 11:40
+ *
+ * @author xBlackCat
+ */
+public interface IBindingSource {
+    boolean getBoolean(int idx) throws SettingsException;
+
+    byte getByte(int idx) throws SettingsException;
+
+    char getChar(int idx) throws SettingsException;
+
+    short getShort(int idx) throws SettingsException;
+
+    int getInt(int idx) throws SettingsException;
+
+    long getLong(int idx) throws SettingsException;
+
+    float getFloat(int idx) throws SettingsException;
+
+    double getDouble(int idx) throws SettingsException;
+
+    /**
+     * Returns a value of a property as an object. Primitive values are boxed.
+     *
+     * @param idx property index
+     * @return value of the property or <code>null</code> for missing optional property
+     * @throws SettingsException if value can't be read or parsed
+     */
+    Object getObject(int idx) throws SettingsException;
+}
@@ -4,6 +4,10 @@ import org.xblackcat.sjpu.settings.SettingsException;
 import org.xblackcat.sjpu.settings.ann.Optional;
 import org.xblackcat.sjpu.settings.ann.Prefix;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * 08.11.2016 11:22
  *
@@ -51,4 +55,26 @@ public interface IConfig {
     }
 
     <T> T get(Class<T> clazz, String prefixName, boolean optional) throws SettingsException;
+
+    /**
+     * Starts loading of values in background to have them ready for the following {@linkplain #get(Class)} calls.
+     * Concurrent loading requests are served by a single load.
+     *
+     * @param executor executor to load values on.
+     * @return future to be completed with the config when values are loaded or with {@linkplain SettingsException} if
+     * values can't be loaded.
+     */
+    default CompletableFuture<IConfig> preload(Executor executor) {
+        return CompletableFuture.completedFuture(this);
+    }
+
+    /**
+     * Starts loading of values in the common fork-join pool.
+     *
+     * @return future to be completed with the config when values are loaded.
+     * @see #preload(Executor)
+     */
+    default CompletableFuture<IConfig> preload() {
+        return preload(ForkJoinPool.commonPool());
+    }
 }
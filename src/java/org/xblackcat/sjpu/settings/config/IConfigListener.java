@@ -1,6 +1,7 @@
 package org.xblackcat.sjpu.settings.config;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -20,4 +21,17 @@ public interface IConfigListener {
     }
 
     void onConfigChanged(Class<?> clazz, String prefix, Object newConfig);
+
+    /**
+     * Notifies about changed settings object. Default implementation calls {@linkplain #onConfigChanged(Class, String, Object)}.
+     *
+     * @param clazz       interface of the settings object
+     * @param prefix      prefix of the settings object
+     * @param newConfig   new settings object
+     * @param changedKeys names of properties changed in the source since the previous load including properties which
+     *                    refer to changed ones by substitutions
+     */
+    default void onConfigChanged(Class<?> clazz, String prefix, Object newConfig, Set<String> changedKeys) {
+        onConfigChanged(clazz, prefix, newConfig);
+    }
 }
@@ -0,0 +1,23 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Strategy of detecting changes of tracked config files.
+ * <p>
+ * 18.10.2026 22:40
+ *
+ * @author xBlackCat
+ */
+public interface IFileTracker {
+    /**
+     * Starts tracking of the file. The listener is called when the file is possibly changed: created, modified or deleted.
+     * Spurious calls are allowed.
+     *
+     * @param file     file to track
+     * @param onChange listener of the file changes
+     * @throws IOException if the file can't be tracked
+     */
+    void track(Path file, Runnable onChange) throws IOException;
+}
@@ -0,0 +1,15 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.SettingsException;
+
+/**
+ * Creates an implementation object of a settings interface from values provided by a binding source. Implementations are generated
+ * for every settings interface and invoke the implementation constructor directly: primitive values are passed without boxing.
+ * <p>
+ * 18.10.2026 11:40
+ *
+ * @author xBlackCat
+ */
+public interface ISettingsBinder<T> {
+    T bind(IBindingSource source) throws SettingsException;
+}
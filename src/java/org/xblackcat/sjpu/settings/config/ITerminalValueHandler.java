@@ -0,0 +1,15 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Marker for prefix value handlers which produce a final value. Prefix handlers are applied to a value repeatedly while
+ * the value starts with a registered prefix. The processing stops after a handler with the marker is applied.
+ * <p>
+ * 18.10.2026 16:05
+ *
+ * @author xBlackCat
+ */
+@FunctionalInterface
+public interface ITerminalValueHandler extends UnaryOperator<String> {
+}
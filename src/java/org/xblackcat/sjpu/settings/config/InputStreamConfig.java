@@ -26,7 +26,11 @@ public class InputStreamConfig extends APermanentConfig {
             List<SupplierEx<IValueGetter, SettingsException>> substitutions,
             SupplierEx<InputStream, IOException> inputStreamProvider
     ) {
-        super(pool, prefixHandlers, substitutions);
+        this(new ConfigOptions(pool, prefixHandlers, substitutions), inputStreamProvider);
+    }
+
+    public InputStreamConfig(ConfigOptions options, SupplierEx<InputStream, IOException> inputStreamProvider) {
+        super(options);
         this.inputStreamProvider = inputStreamProvider;
     }
 
@@ -0,0 +1,136 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+
+import java.util.*;
+
+/**
+ * Names of properties read while an object is bound: requested values and prefixes of requested name lists (e.g. for
+ * groups). Used to decide if the object should be bound again when values are changed.
+ * <p>
+ * 18.10.2026 21:20
+ *
+ * @author xBlackCat
+ */
+final class KeyUsage {
+    private final Set<String> keys = new HashSet<>();
+    private final Set<String> prefixes = new HashSet<>();
+
+    /**
+     * @return values getter which records all the requests into the usage
+     */
+    IValueGetter record(IValueGetter values) {
+        return new Recorder(values);
+    }
+
+    void addKey(String key) {
+        keys.add(key);
+    }
+
+    /**
+     * @param changedKeys names of changed, added or removed properties
+     * @return <code>true</code> if at least one of the properties was read
+     */
+    boolean isAffectedBy(Set<String> changedKeys) {
+        for (String key : changedKeys) {
+            if (keys.contains(key)) {
+                return true;
+            }
+            for (String prefix : prefixes) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds all the properties affected by changes in values: changed, added or removed properties and the properties
+     * which refer to them by substitutions directly or indirectly.
+     *
+     * @param oldValues values before change or <code>null</code> if values were not loaded
+     * @param newValues values after change
+     * @return names of affected properties
+     */
+    static Set<String> changedKeys(IValueGetter oldValues, IValueGetter newValues) {
+        final Set<String> allKeys = new HashSet<>(newValues.keySet());
+        if (oldValues != null) {
+            allKeys.addAll(oldValues.keySet());
+        }
+
+        final Set<String> changed = new HashSet<>();
+        final Map<String, List<String>> referredBy = new HashMap<>();
+        for (String key : allKeys) {
+            final String newValue = newValues.get(key);
+            final String oldValue = oldValues == null ? null : oldValues.get(key);
+            if (oldValues == null || !Objects.equals(oldValue, newValue)) {
+                changed.add(key);
+            }
+            addReferences(referredBy, key, newValue);
+            if (!Objects.equals(oldValue, newValue)) {
+                addReferences(referredBy, key, oldValue);
+            }
+        }
+
+        // Add properties which refer to the changed ones
+        final Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            final List<String> dependent = referredBy.get(queue.poll());
+            if (dependent != null) {
+                for (String key : dependent) {
+                    if (changed.add(key)) {
+                        queue.add(key);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static void addReferences(Map<String, List<String>> referredBy, String key, String value) {
+        if (value == null || value.indexOf("${") < 0) {
+            return;
+        }
+        for (String name : Substitutor.references(value)) {
+            referredBy.computeIfAbsent(name, k -> new ArrayList<>()).add(key);
+        }
+    }
+
+    /**
+     * Values getter which passes all the requests to the source values and records requested names.
+     */
+    final class Recorder implements IValueGetter {
+        private final IValueGetter source;
+
+        private Recorder(IValueGetter source) {
+            this.source = source;
+        }
+
+        IValueGetter getSource() {
+            return source;
+        }
+
+        KeyUsage getUsage() {
+            return KeyUsage.this;
+        }
+
+        @Override
+        public String get(String key) {
+            keys.add(key);
+            return source.get(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            prefixes.add("");
+            return source.keySet();
+        }
+
+        @Override
+        public Collection<String> keysWithPrefix(String prefix) {
+            prefixes.add(prefix);
+            return source.keysWithPrefix(prefix);
+        }
+    }
+}
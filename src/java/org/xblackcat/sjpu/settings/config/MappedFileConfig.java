@@ -0,0 +1,29 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.MappedValueGetter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Config over a memory-mapped .properties file. Values are decoded on request so heap usage depends on the number of
+ * requested values rather than on the file size.
+ * <p>
+ * 18.10.2026 19:30
+ *
+ * @author xBlackCat
+ */
+public class MappedFileConfig extends APermanentConfig {
+    private final Path file;
+
+    public MappedFileConfig(ConfigOptions options, Path file) {
+        super(options);
+        this.file = file;
+    }
+
+    @Override
+    protected final IValueGetter loadProperties() throws IOException {
+        return MappedValueGetter.map(file);
+    }
+}
@@ -1,83 +1,342 @@
-package org.xblackcat.sjpu.settings.config;
-
-import javassist.ClassPool;
-import org.apache.commons.lang3.ArrayUtils;
-import org.xblackcat.sjpu.settings.SettingsException;
-import org.xblackcat.sjpu.settings.util.IValueGetter;
-import org.xblackcat.sjpu.util.function.SupplierEx;
-
-import java.io.IOException;
-import java.util.*;
-import java.util.function.UnaryOperator;
-
-/**
- * 12.12.2014 19:01
- *
- * @author xBlackCat
- */
-public class MultiSourceConfig extends APermanentConfig {
-    private final APermanentConfig[] sources;
-
-    public MultiSourceConfig(
-            ClassPool pool,
-            Map<String, UnaryOperator<String>> prefixHandlers,
-            List<SupplierEx<IValueGetter, SettingsException>> substitutions,
-            IConfig... sources
-    ) {
-        super(pool, prefixHandlers, substitutions);
-        if (ArrayUtils.isEmpty(sources)) {
-            throw new IllegalArgumentException("Please, specify at least one source");
-        }
-        this.sources = Arrays.stream(sources)
-                .filter(c -> c instanceof APermanentConfig)
-                .map(c -> (APermanentConfig) c)
-                .toArray(APermanentConfig[]::new);
-
-        if (ArrayUtils.isEmpty(this.sources)) {
-            throw new IllegalArgumentException("Please, specify at least one source: Mutable config is not supported");
-        }
-    }
-
-    @Override
-    protected IValueGetter loadProperties() throws IOException {
-        final List<IValueGetter> loadedProperties = new ArrayList<>(sources.length);
-        for (APermanentConfig source: sources) {
-            final IValueGetter valueGetter = source.loadProperties();
-            if (valueGetter != null) {
-                loadedProperties.add(valueGetter);
-            }
-        }
-
-        return new MultiSourceValueGetter(loadedProperties);
-    }
-
-    private static class MultiSourceValueGetter implements IValueGetter {
-        private final List<IValueGetter> loadedProperties;
-        private final Set<String> keySet = new HashSet<>();
-
-        public MultiSourceValueGetter(List<IValueGetter> loadedProperties) {
-            this.loadedProperties = loadedProperties;
-        }
-
-        @Override
-        public String get(String key) {
-            for (IValueGetter getter: loadedProperties) {
-                String value = getter.get(key);
-                if (value != null) {
-                    return value;
-                }
-            }
-            return null;
-        }
-
-        @Override
-        public Set<String> keySet() {
-            if (keySet.isEmpty()) {
-                for (IValueGetter getter: loadedProperties) {
-                    keySet.addAll(getter.keySet());
-                }
-            }
-            return keySet;
-        }
-    }
-}
+package org.xblackcat.sjpu.settings.config;
+
+import javassist.ClassPool;
+import org.apache.commons.lang3.ArrayUtils;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.MapWrapper;
+import org.xblackcat.sjpu.util.function.SupplierEx;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * 12.12.2014 19:01
+ *
+ * @author xBlackCat
+ */
+public class MultiSourceConfig extends APermanentConfig {
+    private final APermanentConfig[] sources;
+    private final Mode mode;
+    private final Executor loadExecutor;
+    private final Duration loadTimeout;
+
+    public MultiSourceConfig(
+            ClassPool pool,
+            Map<String, UnaryOperator<String>> prefixHandlers,
+            List<SupplierEx<IValueGetter, SettingsException>> substitutions,
+            IConfig... sources
+    ) {
+        this(new ConfigOptions(pool, prefixHandlers, substitutions), Mode.LAYERED, sources);
+    }
+
+    /**
+     * Sources are loaded concurrently if {@linkplain ConfigOptions#getLoadExecutor() load executor} is specified.
+     * A required source which is not loaded within {@linkplain ConfigOptions#getLoadTimeout() load timeout} fails the
+     * loading and an {@linkplain #optional(IConfig) optional} one is skipped. The time is counted from the start of
+     * loading of the source: time spent waiting for a free thread of the executor is not limited. A source which is not
+     * loaded in time is interrupted.
+     *
+     * @param mode    defines how values of the sources are combined
+     * @param sources value sources in order of priority
+     */
+    public MultiSourceConfig(ConfigOptions options, Mode mode, IConfig... sources) {
+        super(options);
+        this.mode = mode;
+        loadExecutor = options.getLoadExecutor();
+        loadTimeout = options.getLoadTimeout();
+        if (ArrayUtils.isEmpty(sources)) {
+            throw new IllegalArgumentException("Please, specify at least one source");
+        }
+        this.sources = Arrays.stream(sources)
+                .filter(c -> c instanceof APermanentConfig)
+                .map(c -> (APermanentConfig) c)
+                .toArray(APermanentConfig[]::new);
+
+        if (ArrayUtils.isEmpty(this.sources)) {
+            throw new IllegalArgumentException("Please, specify at least one source: Mutable config is not supported");
+        }
+    }
+
+    /**
+     * Marks a source as optional: if the source can't be loaded or is not loaded in time it is skipped with a warning
+     * instead of failing the whole config.
+     *
+     * @param source source config
+     * @return optional source config to be passed to {@linkplain MultiSourceConfig}
+     */
+    public static IConfig optional(IConfig source) {
+        if (!(source instanceof APermanentConfig)) {
+            throw new IllegalArgumentException("Mutable config is not supported");
+        }
+        if (source instanceof OptionalSource) {
+            return source;
+        }
+        return new OptionalSource((APermanentConfig) source);
+    }
+
+    @Override
+    protected IValueGetter loadProperties() throws IOException {
+        final IValueGetter[] loaded = loadExecutor == null ? loadSequentially() : loadConcurrently();
+
+        final List<IValueGetter> loadedProperties = new ArrayList<>(sources.length);
+        final List<APermanentConfig> origins = new ArrayList<>(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            if (loaded[i] != null) {
+                loadedProperties.add(loaded[i]);
+                origins.add(sources[i]);
+            }
+        }
+
+        if (mode == Mode.LAYERED) {
+            return new MultiSourceValueGetter(loadedProperties, origins);
+        }
+
+        final Map<String, String> values = new HashMap<>();
+        final Map<String, IConfig> valueOrigins = mode == Mode.MERGED_WITH_ORIGINS ? new HashMap<>() : null;
+        for (int i = 0; i < loadedProperties.size(); i++) {
+            final IValueGetter getter = loadedProperties.get(i);
+            for (String key: getter.keySet()) {
+                if (values.containsKey(key)) {
+                    // First source wins
+                    continue;
+                }
+                final String value = getter.get(key);
+                if (value != null) {
+                    values.put(key, value);
+                    if (valueOrigins != null) {
+                        valueOrigins.put(key, origins.get(i));
+                    }
+                }
+            }
+        }
+
+        return new MergedValueGetter(values, valueOrigins);
+    }
+
+    private IValueGetter[] loadSequentially() throws IOException {
+        final IValueGetter[] loaded = new IValueGetter[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            loaded[i] = sources[i].loadProperties();
+        }
+        return loaded;
+    }
+
+    private IValueGetter[] loadConcurrently() throws IOException {
+        final List<SourceLoad> loads = new ArrayList<>(sources.length);
+        final IValueGetter[] loaded = new IValueGetter[sources.length];
+        // Each source should be started by the executor in the load timeout
+        final long startDeadline = System.nanoTime() + (loadTimeout == null ? 0 : loadTimeout.toNanos());
+        try {
+            for (APermanentConfig source: sources) {
+                final SourceLoad load = new SourceLoad(source);
+                loads.add(load);
+                loadExecutor.execute(load);
+            }
+
+            // Results are collected in order of priority
+            for (int i = 0; i < sources.length; i++) {
+                final SourceLoad load = loads.get(i);
+                try {
+                    loaded[i] = load.await(loadTimeout, startDeadline);
+                } catch (TimeoutException e) {
+                    load.cancel(true);
+                    if (!(sources[i] instanceof OptionalSource)) {
+                        throw new IOException("Source #" + i + " is not loaded in " + loadTimeout);
+                    }
+                    log.warn("Optional source #" + i + " is not loaded in " + loadTimeout + " - skip it");
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException("Failed to load source #" + i, cause);
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Failed to schedule loading of sources", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Loading of sources is interrupted");
+        } finally {
+            // Interrupt loads which are still running
+            for (SourceLoad load: loads) {
+                load.cancel(true);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the source config the value of the property is taken from. Origins are available for
+     * {@linkplain Mode#LAYERED} and {@linkplain Mode#MERGED_WITH_ORIGINS} modes.
+     *
+     * @param key property name
+     * @return source config or <code>null</code> if there is no value for the property or origins are not tracked
+     * @throws SettingsException if values can't be loaded
+     */
+    public IConfig getOrigin(String key) throws SettingsException {
+        final IValueGetter values = getValueGetter();
+        if (values instanceof MultiSourceValueGetter) {
+            return ((MultiSourceValueGetter) values).getOrigin(key);
+        } else if (values instanceof MergedValueGetter) {
+            return ((MergedValueGetter) values).getOrigin(key);
+        }
+        return null;
+    }
+
+    /**
+     * Defines how values of the sources are combined.
+     */
+    public enum Mode {
+        /**
+         * Each value is looked up in the sources one by one.
+         */
+        LAYERED,
+        /**
+         * Values of all the sources are merged into a single immutable map on load. A value from a former source wins.
+         */
+        MERGED,
+        /**
+         * Same as {@linkplain #MERGED} but source config of each value is kept: see {@linkplain #getOrigin(String)}
+         */
+        MERGED_WITH_ORIGINS
+    }
+
+    /**
+     * Loading of a source on the load executor. The load timeout is counted from the start of the loading while time spent
+     * in the executor queue is limited by a common deadline for all the sources.
+     */
+    private static final class SourceLoad extends FutureTask<IValueGetter> {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startTime;
+
+        private SourceLoad(APermanentConfig source) {
+            super(source::loadProperties);
+        }
+
+        @Override
+        public void run() {
+            startTime = System.nanoTime();
+            started.countDown();
+            super.run();
+        }
+
+        private IValueGetter await(
+                Duration timeout,
+                long startDeadline
+        ) throws InterruptedException, ExecutionException, TimeoutException {
+            if (timeout == null) {
+                return get();
+            }
+            if (!started.await(Math.max(0, startDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("Loading is not started");
+            }
+            return get(Math.max(0, startTime + timeout.toNanos() - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class OptionalSource extends APermanentConfig {
+        private final APermanentConfig source;
+
+        private OptionalSource(APermanentConfig source) {
+            super(source.options);
+            this.source = source;
+        }
+
+        @Override
+        protected IValueGetter loadProperties() {
+            try {
+                return source.loadProperties();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Optional source is not loaded - skip it", e);
+                return null;
+            }
+        }
+    }
+
+    private static class MultiSourceValueGetter implements IValueGetter {
+        private final List<IValueGetter> loadedProperties;
+        private final List<APermanentConfig> origins;
+        private volatile Set<String> keySet;
+
+        public MultiSourceValueGetter(List<IValueGetter> loadedProperties, List<APermanentConfig> origins) {
+            this.loadedProperties = loadedProperties;
+            this.origins = origins;
+        }
+
+        @Override
+        public boolean isLive() {
+            for (IValueGetter getter: loadedProperties) {
+                if (getter.isLive()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String get(String key) {
+            for (IValueGetter getter: loadedProperties) {
+                String value = getter.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        private IConfig getOrigin(String key) {
+            for (int i = 0; i < loadedProperties.size(); i++) {
+                if (loadedProperties.get(i).get(key) != null) {
+                    return origins.get(i);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            Set<String> keySet = this.keySet;
+            if (keySet == null) {
+                final Set<String> keys = new HashSet<>();
+                for (IValueGetter getter: loadedProperties) {
+                    keys.addAll(getter.keySet());
+                }
+                keySet = Collections.unmodifiableSet(keys);
+                this.keySet = keySet;
+            }
+            return keySet;
+        }
+
+        @Override
+        public Collection<String> keysWithPrefix(String prefix) {
+            if (loadedProperties.size() == 1) {
+                return loadedProperties.get(0).keysWithPrefix(prefix);
+            }
+
+            final Set<String> keys = new LinkedHashSet<>();
+            for (IValueGetter getter: loadedProperties) {
+                keys.addAll(getter.keysWithPrefix(prefix));
+            }
+            return keys;
+        }
+    }
+
+    private static class MergedValueGetter extends MapWrapper {
+        private final Map<String, IConfig> origins;
+
+        public MergedValueGetter(Map<String, String> values, Map<String, IConfig> origins) {
+            super(Collections.unmodifiableMap(values));
+            this.origins = origins;
+        }
+
+        private IConfig getOrigin(String key) {
+            return origins == null ? null : origins.get(key);
+        }
+    }
+}
@@ -8,10 +8,17 @@ import org.xblackcat.sjpu.settings.util.IValueGetter;
 import org.xblackcat.sjpu.settings.util.LoadUtils;
 import org.xblackcat.sjpu.util.function.SupplierEx;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -26,12 +33,17 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
     private final Lock lock = new ReentrantLock();
     private final List<IConfigListener> listenerList = new ArrayList<>();
     private final Map<ConfigInfo<?>, ISettingsWrapper<?>> loadedObjects = new HashMap<>();
+    private final Map<ConfigInfo<?>, KeyUsage> keyUsages = new HashMap<>();
     private final Path file;
     private final Path parent;
-    private final APermanentConfig wrappedConfig;
     private final Consumer<Runnable> notifyConsumer;
+    private final Executor rebindExecutor;
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder skippedReloadCount = new LongAdder();
 
     private volatile IValueGetter loadedProperties;
+    // Guarded by the lock: the fingerprint should always match the loaded properties
+    private FileFingerprint fingerprint;
 
     public MutableConfig(
             ClassPool pool,
@@ -40,12 +52,20 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
             Path file,
             Consumer<Runnable> notifyConsumer
     ) {
-        super(pool, prefixHandlers, substitutions);
+        this(new ConfigOptions(pool, prefixHandlers, substitutions), file, notifyConsumer, null);
+    }
+
+    /**
+     * @param rebindExecutor executor to bind objects affected by a reload in parallel or <code>null</code> to bind them in the
+     *                       reloading thread. Prefix handlers and parsers should be thread-safe for parallel binding.
+     */
+    public MutableConfig(ConfigOptions options, Path file, Consumer<Runnable> notifyConsumer, Executor rebindExecutor) {
+        super(options);
         this.file = file;
         parent = file.getParent();
 
         this.notifyConsumer = notifyConsumer;
-        wrappedConfig = new InputStreamConfig(pool, prefixHandlers, substitutions, () -> LoadUtils.getInputStream(file));
+        this.rebindExecutor = rebindExecutor;
     }
 
     @Override
@@ -67,7 +87,7 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
 
             IValueGetter properties;
             if (loadedProperties == null) {
-                properties = reloadFile();
+                properties = resolve(reloadFile());
                 loadedProperties = properties;
             } else {
                 properties = loadedProperties;
@@ -88,16 +108,48 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
         }
     }
 
+    /**
+     * Loads the file on the executor if it is not loaded yet.
+     */
+    @Override
+    public CompletableFuture<IConfig> preload(Executor executor) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    lock.lock();
+                    try {
+                        if (loadedProperties == null) {
+                            loadedProperties = resolve(reloadFile());
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                    return this;
+                }, executor
+        );
+    }
+
     private <T> T initObject(ClassPool pool, ConfigInfo<T> configInfo, IValueGetter loadedProperties) throws SettingsException {
+        // Keep names of read properties to bind the object again only if they are changed
+        final KeyUsage usage = new KeyUsage();
+        try {
+            return initObject(pool, configInfo, loadedProperties, usage);
+        } finally {
+            keyUsages.put(configInfo, usage);
+        }
+    }
+
+    private <T> T initObject(
+            ClassPool pool,
+            ConfigInfo<T> configInfo,
+            IValueGetter loadedProperties,
+            KeyUsage usage
+    ) throws SettingsException {
         Class<T> clazz = configInfo.getClazz();
         String prefixName = configInfo.getPrefix();
         boolean optional = configInfo.isOptional();
 
         try {
-            @SuppressWarnings("unchecked") final Constructor<T> c = ClassUtils.getSettingsConstructor(clazz, pool);
-            List<Object> values = buildConstructorParameters(pool, clazz, prefixName, loadedProperties);
-
-            return ClassUtils.initialize(c, values);
+            return bind(pool, clazz, prefixName, usage.record(loadedProperties));
         } catch (SettingsException e) {
             if (optional) {
                 return null;
@@ -106,20 +158,83 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
         }
     }
 
-    private void reloadConfigs() {
-        IValueGetter properties = reloadFile();
+    private static IValueGetter getRawValues(IValueGetter properties) {
+        if (properties instanceof ResolvedValueGetter) {
+            return ((ResolvedValueGetter) properties).getRawValues();
+        }
+        return properties;
+    }
 
+    private void reloadConfigs() {
+        // The file is compared and loaded under the lock so a concurrent first load can't replace newer values
         lock.lock();
         try {
+            final FileFingerprint lastFingerprint = fingerprint;
+            if (lastFingerprint != null && lastFingerprint.isUnchanged(file)) {
+                if (log.isTraceEnabled()) {
+                    log.trace("File " + file + " is not modified");
+                }
+                skippedReloadCount.increment();
+                return;
+            }
+
+            final IValueGetter loaded = loadFile(lastFingerprint, true);
+            if (loaded == null) {
+                if (log.isTraceEnabled()) {
+                    log.trace("Content of " + file + " is not changed");
+                }
+                skippedReloadCount.increment();
+                return;
+            }
+            reloadCount.increment();
+            IValueGetter properties = resolve(loaded);
+
+            final IValueGetter oldProperties = loadedProperties;
             loadedProperties = properties;
 
+            final Set<String> changedKeys = Collections.unmodifiableSet(
+                    KeyUsage.changedKeys(getRawValues(oldProperties), getRawValues(properties))
+            );
+            if (changedKeys.isEmpty()) {
+                if (log.isTraceEnabled()) {
+                    log.trace("No values are changed in " + file);
+                }
+                return;
+            }
+
+            final List<Rebind> rebinds = new ArrayList<>();
             for (Map.Entry<ConfigInfo<?>, ISettingsWrapper<?>> e: loadedObjects.entrySet()) {
+                ConfigInfo<?> configInfo = e.getKey();
+                final KeyUsage usage = keyUsages.get(configInfo);
+                if (usage != null && !usage.isAffectedBy(changedKeys)) {
+                    if (log.isTraceEnabled()) {
+                        log.trace("Read values are not changed for " + configInfo);
+                    }
+
+                    continue;
+                }
+                rebinds.add(new Rebind(configInfo, e.getValue()));
+            }
+
+            if (rebindExecutor != null && rebinds.size() > 1) {
+                rebindParallel(rebinds, properties);
+            } else {
+                for (Rebind r: rebinds) {
+                    r.bind(properties);
+                }
+            }
+
+            for (Rebind r: rebinds) {
                 try {
-                    ConfigInfo<?> configInfo = e.getKey();
-                    ISettingsWrapper wrapper = e.getValue();
+                    ConfigInfo<?> configInfo = r.configInfo;
+                    keyUsages.put(configInfo, r.usage);
+                    if (r.error != null) {
+                        throw r.error;
+                    }
+                    ISettingsWrapper wrapper = r.wrapper;
                     Class<?> clazz = configInfo.getClazz();
 
-                    final Object data = initObject(pool, configInfo, properties);
+                    final Object data = r.data;
 
                     Object oldData = wrapper.getConfig();
                     if (Objects.equals(data, oldData)) {
@@ -132,7 +247,7 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
                     updateObject(wrapper, data);
 
                     for (IConfigListener l: listenerList) {
-                        notifyConsumer.accept(() -> l.onConfigChanged(clazz, configInfo.getPrefix(), data));
+                        notifyConsumer.accept(() -> l.onConfigChanged(clazz, configInfo.getPrefix(), data, changedKeys));
                     }
                 } catch (Throwable ex) {
                     log.debug("Failed to parse properties - ignore request", ex);
@@ -143,11 +258,74 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
         }
     }
 
+    /**
+     * Binds objects on the rebind executor. The calling thread takes part in binding, so the executor could be the one
+     * which performs the reload.
+     */
+    private void rebindParallel(List<Rebind> rebinds, IValueGetter properties) {
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(rebinds.size());
+        final Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < rebinds.size()) {
+                try {
+                    rebinds.get(i).bind(properties);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        for (int i = 1; i < rebinds.size(); i++) {
+            try {
+                rebindExecutor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // Remaining objects are bound in the calling thread
+                break;
+            }
+        }
+        worker.run();
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private IValueGetter reloadFile() {
+        return loadFile(null, true);
+    }
+
+    /**
+     * Loads the file and keeps fingerprint of its content. Should be called under the lock if the values are kept.
+     *
+     * @param lastFingerprint fingerprint of the loaded content or <code>null</code> to load the file unconditionally
+     * @param keep            <code>true</code> if the loaded values will be used by the bound objects
+     * @return loaded values or <code>null</code> if the content is the same as the loaded one
+     */
+    private IValueGetter loadFile(FileFingerprint lastFingerprint, boolean keep) {
         IValueGetter properties = null;
         try {
-            properties = wrappedConfig.loadProperties();
+            final FileFingerprint.Content content = FileFingerprint.read(file);
+            if (keep) {
+                fingerprint = content.getFingerprint();
+            }
+            if (lastFingerprint != null && lastFingerprint.isSameContent(content)) {
+                return null;
+            }
+            properties = LoadUtils.loadProperties(() -> new ByteArrayInputStream(content.getData()));
         } catch (IOException e) {
+            if (keep) {
+                fingerprint = null;
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Failed to load properties - try to use defaults", e);
             }
@@ -162,6 +340,30 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
         return properties;
     }
 
+    /**
+     * Result of binding of an object affected by a reload.
+     */
+    private final class Rebind {
+        private final ConfigInfo<?> configInfo;
+        private final ISettingsWrapper<?> wrapper;
+        private final KeyUsage usage = new KeyUsage();
+        private Object data;
+        private Throwable error;
+
+        private Rebind(ConfigInfo<?> configInfo, ISettingsWrapper<?> wrapper) {
+            this.configInfo = configInfo;
+            this.wrapper = wrapper;
+        }
+
+        private void bind(IValueGetter properties) {
+            try {
+                data = initObject(pool, configInfo, properties, usage);
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void updateObject(ISettingsWrapper wrapper, Object data) {
         wrapper.setConfig(data);
@@ -188,16 +390,47 @@ public class MutableConfig extends AConfig implements IMutableConfig, IConfig {
     }
 
     public void checkPaths(Set<Path> paths) {
+        if (isTracked(paths)) {
+            reloadConfigs();
+        }
+    }
+
+    /**
+     * @param paths changed paths relative to the directory of the tracked file
+     * @return <code>true</code> if the tracked file is among the changed paths
+     */
+    public boolean isTracked(Set<Path> paths) {
         for (Path p: paths) {
             if (parent.resolve(p).equals(file)) {
-                reloadConfigs();
-                return;
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Reloads the tracked file and updates bound objects.
+     */
+    public void reload() {
+        reloadConfigs();
+    }
+
+    /**
+     * @return number of reloads of the file caused by changes of its content
+     */
+    public long getReloadCount() {
+        return reloadCount.sum();
+    }
+
+    /**
+     * @return number of file change events skipped because the content of the file was not changed
+     */
+    public long getSkippedReloadCount() {
+        return skippedReloadCount.sum();
     }
 
     @Override
     public IValueGetter getValueGetter() {
-        return reloadFile();
+        return loadFile(null, false);
     }
 }
@@ -0,0 +1,147 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects changes of files by checking their attributes (size, modification time and file key) periodically. Could be
+ * used for file systems without efficient native change notifications: network or overlay file systems.
+ * <p>
+ * All the polling trackers share a single daemon thread. Each file is checked with its own interval shifted by a random
+ * jitter to spread the checks in time.
+ * <p>
+ * 18.10.2026 22:45
+ *
+ * @author xBlackCat
+ */
+public final class PollingFileTracker implements IFileTracker {
+    private static final Log log = LogFactory.getLog(PollingFileTracker.class);
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(
+            1, r -> {
+                final Thread thread = new Thread(r, "Settings Polling Tracker");
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    private final long interval;
+    private final long jitter;
+
+    /**
+     * Creates a tracker with jitter of 10% of the interval.
+     *
+     * @param interval interval between checks of a file
+     */
+    public PollingFileTracker(Duration interval) {
+        this(interval, interval.dividedBy(10));
+    }
+
+    /**
+     * @param interval interval between checks of a file
+     * @param jitter   max random deviation of the interval. Should be less than the interval.
+     */
+    public PollingFileTracker(Duration interval, Duration jitter) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval should be positive");
+        }
+        if (jitter.isNegative() || jitter.compareTo(interval) >= 0) {
+            throw new IllegalArgumentException("Jitter should be non-negative and less than interval");
+        }
+        this.interval = interval.toNanos();
+        this.jitter = jitter.toNanos();
+    }
+
+    @Override
+    public void track(Path file, Runnable onChange) throws IOException {
+        final Poller poller = new Poller(file, onChange);
+        // The first check is placed randomly within the interval to spread checks of files tracked at once
+        SCHEDULER.schedule(poller, ThreadLocalRandom.current().nextLong(interval), TimeUnit.NANOSECONDS);
+    }
+
+    private long nextDelay() {
+        if (jitter == 0) {
+            return interval;
+        }
+        return interval + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+
+    private static FileState readState(Path file) throws IOException {
+        try {
+            return new FileState(Files.readAttributes(file, BasicFileAttributes.class));
+        } catch (NoSuchFileException e) {
+            return FileState.MISSING;
+        }
+    }
+
+    private final class Poller implements Runnable {
+        private final Path file;
+        private final Runnable onChange;
+        private FileState state;
+
+        private Poller(Path file, Runnable onChange) throws IOException {
+            this.file = file;
+            this.onChange = onChange;
+            state = readState(file);
+        }
+
+        @Override
+        public void run() {
+            try {
+                final FileState newState = readState(file);
+                if (!newState.equals(state)) {
+                    state = newState;
+                    onChange.run();
+                }
+            } catch (Throwable e) {
+                log.error("Failed to check file " + file, e);
+            } finally {
+                SCHEDULER.schedule(this, nextDelay(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class FileState {
+        private static final FileState MISSING = new FileState(-1, -1, null);
+
+        private final long size;
+        private final long modified;
+        private final Object fileKey;
+
+        private FileState(BasicFileAttributes attributes) {
+            this(attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.fileKey());
+        }
+
+        private FileState(long size, long modified, Object fileKey) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final FileState that = (FileState) o;
+            return size == that.size &&
+                    modified == that.modified &&
+                    Objects.equals(fileKey, that.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, modified, fileKey);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Prefix value handlers compiled into a prefix tree. A value is checked against all the prefixes in a single scan and
+ * the handler with the longest matched prefix is applied.
+ * <p>
+ * 18.10.2026 16:10
+ *
+ * @author xBlackCat
+ */
+final class PrefixTrie {
+    private static final PrefixTrie EMPTY = new PrefixTrie(new Node());
+
+    private final Node root;
+
+    private PrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    static PrefixTrie compile(Map<String, UnaryOperator<String>> prefixHandlers) {
+        if (prefixHandlers == null || prefixHandlers.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Node root = new Node();
+        for (Map.Entry<String, UnaryOperator<String>> h: prefixHandlers.entrySet()) {
+            final String prefix = h.getKey();
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.getOrAddChild(prefix.charAt(i));
+            }
+            node.prefixLength = prefix.length();
+            node.handler = h.getValue();
+        }
+        return new PrefixTrie(root);
+    }
+
+    /**
+     * Applies handlers to the value while it starts with one of the registered prefixes. The processing stops after a
+     * {@linkplain ITerminalValueHandler terminal} handler is applied or if a handler returns the value unchanged.
+     *
+     * @param value value to process
+     * @return processed value
+     */
+    String apply(String value) {
+        while (value != null) {
+            final Node match = findLongestMatch(value);
+            if (match == null) {
+                break;
+            }
+
+            final String processed = match.handler.apply(value.substring(match.prefixLength));
+            if (match.handler instanceof ITerminalValueHandler || value.equals(processed)) {
+                return processed;
+            }
+            value = processed;
+        }
+        return value;
+    }
+
+    private Node findLongestMatch(String value) {
+        Node node = root;
+        Node match = node.handler != null ? node : null;
+        for (int i = 0; i < value.length(); i++) {
+            node = node.getChild(value.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.handler != null) {
+                match = node;
+            }
+        }
+        return match;
+    }
+
+    private static final class Node {
+        private char[] chars = new char[0];
+        private Node[] children = new Node[0];
+        private UnaryOperator<String> handler;
+        private int prefixLength;
+
+        private Node getChild(char c) {
+            final int idx = Arrays.binarySearch(chars, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        private Node getOrAddChild(char c) {
+            int idx = Arrays.binarySearch(chars, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+
+            idx = -idx - 1;
+            final Node child = new Node();
+            final char[] newChars = new char[chars.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, idx);
+            System.arraycopy(children, 0, newChildren, 0, idx);
+            newChars[idx] = c;
+            newChildren[idx] = child;
+            System.arraycopy(chars, idx, newChars, idx + 1, chars.length - idx);
+            System.arraycopy(children, idx, newChildren, idx + 1, children.length - idx);
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+    }
+}
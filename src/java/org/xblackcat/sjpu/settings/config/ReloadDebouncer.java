@@ -0,0 +1,92 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Collapses a burst of change events into a single reload. The reload is performed when no new events arrive within
+ * the quiet period, but not later than the max delay after the first event of the burst.
+ * <p>
+ * 18.10.2026 21:55
+ *
+ * @author xBlackCat
+ */
+public final class ReloadDebouncer {
+    private final Runnable reload;
+    private final long quietPeriod;
+    private final long maxDelay;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private long firstEvent;
+    private long generation;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param reload      action to perform
+     * @param quietPeriod time without events to wait before the reload. Zero to perform the reload on each event in the
+     *                    calling thread.
+     * @param maxDelay    max time between the first event of a burst and the reload or <code>null</code> for no limit.
+     * @param scheduler   executor to perform delayed reloads on
+     */
+    public ReloadDebouncer(Runnable reload, Duration quietPeriod, Duration maxDelay, ScheduledExecutorService scheduler) {
+        this(reload, quietPeriod, maxDelay, scheduler, System::nanoTime);
+    }
+
+    /**
+     * @param clock source of time in nanoseconds consistent with delays of the scheduler
+     */
+    ReloadDebouncer(
+            Runnable reload,
+            Duration quietPeriod,
+            Duration maxDelay,
+            ScheduledExecutorService scheduler,
+            LongSupplier clock
+    ) {
+        if (quietPeriod.isNegative() || maxDelay != null && maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Delays should not be negative");
+        }
+        this.reload = reload;
+        this.quietPeriod = quietPeriod.toNanos();
+        this.maxDelay = maxDelay == null ? Long.MAX_VALUE : maxDelay.toNanos();
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a change event.
+     */
+    public void trigger() {
+        if (quietPeriod == 0) {
+            reload.run();
+            return;
+        }
+
+        final long now = clock.getAsLong();
+        synchronized (this) {
+            if (pending == null) {
+                firstEvent = now;
+            } else {
+                pending.cancel(false);
+            }
+            final long delay = Math.min(quietPeriod, Math.max(0, maxDelay - (now - firstEvent)));
+            final long current = ++generation;
+            pending = scheduler.schedule(() -> fire(current), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fire(long expectedGeneration) {
+        synchronized (this) {
+            if (expectedGeneration != generation) {
+                // Rescheduled by a later event
+                return;
+            }
+            pending = null;
+        }
+        reload.run();
+    }
+}
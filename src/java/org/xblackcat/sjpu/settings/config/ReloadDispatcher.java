@@ -0,0 +1,83 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performs reloads of a single source on an executor. Reloads of the source are serialized: at most one reload is
+ * running at a time. Requests are coalesced: a request made while a reload is queued is dropped, a request made while a
+ * reload is running causes a single reload after the current one.
+ * <p>
+ * 18.10.2026 23:55
+ *
+ * @author xBlackCat
+ */
+public final class ReloadDispatcher {
+    private static final Log log = LogFactory.getLog(ReloadDispatcher.class);
+
+    private static final int IDLE = 0;
+    private static final int QUEUED = 1;
+    private static final int RUNNING = 2;
+    private static final int RUNNING_REQUESTED = 3;
+
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private final Runnable reload;
+    private final Executor executor;
+
+    /**
+     * @param reload   action to perform
+     * @param executor executor to perform the action on
+     */
+    public ReloadDispatcher(Runnable reload, Executor executor) {
+        this.reload = reload;
+        this.executor = executor;
+    }
+
+    /**
+     * Requests a reload. The method doesn't wait for the reload.
+     */
+    public void request() {
+        for (; ; ) {
+            final int s = state.get();
+            if (s == QUEUED || s == RUNNING_REQUESTED) {
+                return;
+            }
+            if (s == RUNNING) {
+                if (state.compareAndSet(RUNNING, RUNNING_REQUESTED)) {
+                    return;
+                }
+            } else if (state.compareAndSet(IDLE, QUEUED)) {
+                submit();
+                return;
+            }
+        }
+    }
+
+    private void submit() {
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            state.set(IDLE);
+            log.error("Failed to schedule reload", e);
+        }
+    }
+
+    private void run() {
+        state.set(RUNNING);
+        try {
+            reload.run();
+        } catch (Throwable e) {
+            log.error("Failed to reload", e);
+        } finally {
+            if (!state.compareAndSet(RUNNING, IDLE)) {
+                // Requested while running: queue again to let reloads of other sources run
+                state.set(QUEUED);
+                submit();
+            }
+        }
+    }
+}
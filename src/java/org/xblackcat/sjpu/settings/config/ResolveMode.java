@@ -0,0 +1,24 @@
+package org.xblackcat.sjpu.settings.config;
+
+/**
+ * Defines when variables substitution and prefix handlers are applied to property values.
+ * <p>
+ * 18.10.2026 15:20
+ *
+ * @author xBlackCat
+ */
+public enum ResolveMode {
+    /**
+     * Values are processed on each bind only for properties which are read by the bound interface.
+     */
+    LAZY,
+    /**
+     * All values are processed once right after loading. Binds read processed values from the snapshot.
+     */
+    EAGER,
+    /**
+     * Same as {@linkplain #EAGER} but large sets of values are processed in parallel in the common fork-join pool.
+     * Prefix handlers should be thread-safe.
+     */
+    PARALLEL
+}
@@ -0,0 +1,58 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of loaded values with substituted variables and applied prefix handlers. Values which can't be
+ * processed in advance (e.g. they have recurrent references) are returned raw and are processed on bind to report
+ * the error for the property.
+ * <p>
+ * 18.10.2026 15:25
+ *
+ * @author xBlackCat
+ */
+final class ResolvedValueGetter implements IValueGetter {
+    private final IValueGetter rawValues;
+    private final Map<String, String> resolvedValues;
+
+    ResolvedValueGetter(IValueGetter rawValues, Map<String, String> resolvedValues) {
+        this.rawValues = rawValues;
+        this.resolvedValues = resolvedValues;
+    }
+
+    IValueGetter getRawValues() {
+        return rawValues;
+    }
+
+    /**
+     * @return processed value or <code>null</code> if the value was not processed in advance
+     */
+    String getResolved(String key) {
+        return resolvedValues.get(key);
+    }
+
+    @Override
+    public String get(String key) {
+        final String value = resolvedValues.get(key);
+        return value != null ? value : rawValues.get(key);
+    }
+
+    @Override
+    public boolean isLive() {
+        return rawValues.isLive();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return rawValues.keySet();
+    }
+
+    @Override
+    public Collection<String> keysWithPrefix(String prefix) {
+        return rawValues.keysWithPrefix(prefix);
+    }
+}
@@ -0,0 +1,533 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.apache.commons.lang3.StringUtils;
+import org.xblackcat.sjpu.builder.BuilderUtils;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.ann.*;
+import org.xblackcat.sjpu.settings.ann.Optional;
+import org.xblackcat.sjpu.settings.converter.IParser;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
+import org.xblackcat.sjpu.settings.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Binding plan of a settings interface. Holds everything that could be resolved from the interface declaration only: property names,
+ * converters, delimiters, container types, default values. The plan is built once per interface and reused by every config on every
+ * load/reload.
+ * <p>
+ * Errors of interface declaration are not thrown on the plan building: they are stored in the plan and thrown during binding at the
+ * same moment they were thrown before, so a misconfigured method which is never bound does not break others.
+ * <p>
+ * 18.10.2026 10:15
+ *
+ * @author xBlackCat
+ */
+final class SettingsSchema<T> {
+    private static final ClassValue<SettingsSchema<?>> SCHEMAS = new ClassValue<SettingsSchema<?>>() {
+        @Override
+        protected SettingsSchema<?> computeValue(Class<?> type) {
+            return new SettingsSchema<>(type);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    static <T> SettingsSchema<T> of(Class<T> clazz) {
+        return (SettingsSchema<T>) SCHEMAS.get(clazz);
+    }
+
+    private final Class<T> clazz;
+    private final Binding[] bindings;
+    private final Set<String> propertyNames;
+    private final ConcurrentMap<String, String[]> prefixedNames = new ConcurrentHashMap<>();
+
+    private SettingsSchema(Class<T> clazz) {
+        this.clazz = clazz;
+
+        final List<Method> methods = ClassUtils.getPropertyMethods(clazz);
+        bindings = new Binding[methods.size()];
+        final Set<String> names = new HashSet<>();
+        int i = 0;
+        for (Method m : methods) {
+            final Binding binding = new Binding(m);
+            bindings[i++] = binding;
+            names.add(binding.getName());
+        }
+        propertyNames = Collections.unmodifiableSet(names);
+    }
+
+    Class<T> getClazz() {
+        return clazz;
+    }
+
+    Binding[] getBindings() {
+        return bindings;
+    }
+
+    /**
+     * @return set of property names (without prefix) of the interface.
+     */
+    Set<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * Returns full property names of the interface for the given prefix. The names are in the same order as {@linkplain #getBindings()}
+     *
+     * @param prefixName prefix for the properties. Could be empty
+     * @return array of full property names.
+     */
+    String[] getPropertyNames(String prefixName) {
+        final String prefix = prefixName == null ? "" : prefixName;
+        String[] names = prefixedNames.get(prefix);
+        if (names == null) {
+            names = new String[bindings.length];
+            final boolean hasPrefix = StringUtils.isNotBlank(prefix);
+            for (int i = 0; i < bindings.length; i++) {
+                names[i] = hasPrefix ? prefix + "." + bindings[i].getName() : bindings[i].getName();
+            }
+            final String[] existing = prefixedNames.putIfAbsent(prefix, names);
+            if (existing != null) {
+                names = existing;
+            }
+        }
+        return names;
+    }
+
+    enum Kind {
+        GROUP,
+        PARSER,
+        ARRAY,
+        COLLECTION,
+        MAP,
+        NESTED,
+        VALUE
+    }
+
+    enum Container {
+        SET,
+        ENUM_SET,
+        LIST,
+        COLLECTION
+    }
+
+    static final class Binding {
+        private final Method method;
+        private final Class<?> returnType;
+        private final String name;
+        private final String defaultValue;
+        private final boolean optional;
+        private final boolean primitive;
+        private final String delimiter;
+
+        private final Kind kind;
+        private final Class<? extends IParser<?>> parserClass;
+        /**
+         * Return type of the parser if it is declared by the parser class and defines how the parser is used. Otherwise
+         * the type is taken on bind from the parser provided by the config.
+         */
+        private Class<?> parserReturnType;
+
+        /**
+         * Error to be thrown before value reading
+         */
+        private SettingsException declarationError;
+        /**
+         * Error to be thrown if not empty value is read
+         */
+        private SettingsException valueError;
+        /**
+         * Error to be thrown if at least a single element is read
+         */
+        private SettingsException elementError;
+
+        private Class<?> targetType;
+        private Class<?> targetValueType;
+        private Container container;
+        private String splitter;
+        private ArraySetter arraySetter;
+        private Function<String, ?> converter;
+        private Function<String, ?> valueConverter;
+
+        private Binding(Method method) {
+            this.method = method;
+            returnType = method.getReturnType();
+            name = ClassUtils.buildPropertyName(null, method);
+            primitive = returnType.isPrimitive();
+            optional = method.isAnnotationPresent(Optional.class);
+            final DefaultValue defaultValueAnn = method.getAnnotation(DefaultValue.class);
+            defaultValue = defaultValueAnn == null ? null : defaultValueAnn.value();
+            delimiter = ClassUtils.getDelimiter(method);
+
+            final GroupField groupField = method.getAnnotation(GroupField.class);
+            if (groupField != null) {
+                kind = Kind.GROUP;
+                parserClass = null;
+                parserReturnType = null;
+                targetType = groupField.value();
+                if (!Map.class.equals(returnType)) {
+                    declarationError = new SettingsException("Group field should have java.util.Map return type only");
+                }
+                return;
+            }
+
+            final ParseWith parseWith = method.getAnnotation(ParseWith.class);
+            parserClass = parseWith == null ? null : parseWith.value();
+            // Parsers are not instantiated here: an instance could be provided by the config
+            final Class<?> declaredType = parserClass == null ? null : ParserRegistry.getDeclaredReturnType(parserClass);
+            if (declaredType != null && (isAssignable(declaredType, returnType) || isElementParser(declaredType))) {
+                parserReturnType = declaredType;
+            } else {
+                // The declared type could be wider than the real one (e.g. Object): the parser is checked on bind
+                parserReturnType = null;
+            }
+
+            if (parserReturnType != null && isAssignable(parserReturnType, returnType)) {
+                kind = Kind.PARSER;
+            } else if (parserClass != null && !returnType.isArray() && !Collection.class.isAssignableFrom(returnType) &&
+                    !Map.class.isAssignableFrom(returnType)) {
+                kind = Kind.PARSER;
+            } else if (returnType.isArray()) {
+                kind = Kind.ARRAY;
+                resolveArray(parserReturnType);
+            } else if (Collection.class.isAssignableFrom(returnType)) {
+                kind = Kind.COLLECTION;
+                resolveCollection();
+            } else if (Map.class.isAssignableFrom(returnType)) {
+                kind = Kind.MAP;
+                resolveMap();
+            } else if (returnType.isInterface()) {
+                kind = Kind.NESTED;
+            } else {
+                kind = Kind.VALUE;
+                try {
+                    converter = AConfig.getToObjectConverter(returnType);
+                } catch (SettingsException e) {
+                    valueError = e;
+                }
+            }
+        }
+
+        private void resolveArray(Class<?> parserReturnType) {
+            targetType = returnType.getComponentType();
+            if (parserReturnType != null && !targetType.isAssignableFrom(parserReturnType)) {
+                declarationError = new SettingsException(
+                        "Converter return type " + parserReturnType.getName() + " can't be assigned to array component type" +
+                                returnType.getName()
+                );
+                return;
+            }
+
+            if (parserClass == null) {
+                try {
+                    arraySetter = AConfig.getArraySetter(targetType);
+                } catch (SettingsException e) {
+                    elementError = e;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void resolveCollection() {
+            final Class<?> returnRawType;
+            final Class<?> proposalReturnClass;
+            if (method.getGenericReturnType() instanceof ParameterizedType) {
+                final ParameterizedType returnType = (ParameterizedType) method.getGenericReturnType();
+                if (!(returnType.getRawType() instanceof Class)) {
+                    valueError = new SettingsException("Raw type is not a class " + returnType + " in method " + method.toString());
+                    return;
+                }
+                returnRawType = (Class) returnType.getRawType();
+                proposalReturnClass = BuilderUtils.detectTypeArgClass(returnType);
+            } else {
+                returnRawType = (Class<?>) method.getGenericReturnType();
+                proposalReturnClass = null;
+            }
+
+            CollectionOf collectionOf = method.getAnnotation(CollectionOf.class);
+            if (collectionOf != null) {
+                targetType = collectionOf.value();
+            } else {
+                targetType = proposalReturnClass;
+            }
+
+            if (proposalReturnClass != null) {
+                if (!targetType.isAssignableFrom(proposalReturnClass)) {
+                    valueError = new SettingsException(
+                            "Specified return object " + targetType.getName() + " cannot be casted to " + proposalReturnClass.getName()
+                    );
+                    return;
+                }
+            }
+
+            if (targetType == null) {
+                valueError = new SettingsException(
+                        "Cannot detect component type of list. Please, use @CollectionOf annotation for method " + method.toString()
+                );
+                return;
+            }
+
+            if (parserReturnType != null && !isAssignable(parserReturnType, targetType)) {
+                // The declared type could be wider than the real one: the parser is checked on bind
+                parserReturnType = null;
+            }
+
+            if (returnRawType.equals(Set.class)) {
+                if (Enum.class.isAssignableFrom(targetType)) {
+                    container = Container.ENUM_SET;
+                } else {
+                    container = Container.SET;
+                }
+            } else if (returnRawType.equals(List.class)) {
+                container = Container.LIST;
+            } else if (returnRawType.equals(Collection.class)) {
+                container = Container.COLLECTION;
+            } else {
+                valueError = new SettingsException(
+                        "Please, specify container by interface " + Collection.class.getName() + ", " + List.class.getName() +
+                                " or " + Set.class.getName() + " as return type for collections."
+                );
+                return;
+            }
+
+            if (targetType.isInterface() || java.lang.reflect.Modifier.isAbstract(targetType.getModifiers())) {
+                elementError = new SettingsException("Only non-abstract classes could be specified as collection elements");
+                return;
+            }
+
+            if (parserClass == null) {
+                try {
+                    converter = AConfig.getToObjectConverter(targetType);
+                } catch (SettingsException e) {
+                    elementError = e;
+                }
+            }
+        }
+
+        private void resolveMap() {
+            splitter = ClassUtils.getSplitter(method);
+
+            final Class<?> returnRawType;
+            final Class<?> proposalKeyClass;
+            final Class<?> proposalValueClass;
+            if (method.getGenericReturnType() instanceof ParameterizedType) {
+                final ParameterizedType returnType = (ParameterizedType) method.getGenericReturnType();
+                if (!(returnType.getRawType() instanceof Class)) {
+                    valueError = new SettingsException("Raw type is not a class " + returnType + " in method " + method.toString());
+                    return;
+                }
+                returnRawType = (Class) returnType.getRawType();
+                Class<?>[] detectTypeArgsClass = BuilderUtils.detectTypeArgsClass(returnType, 2);
+                proposalKeyClass = detectTypeArgsClass[0];
+                proposalValueClass = detectTypeArgsClass[1];
+            } else {
+                returnRawType = (Class<?>) method.getGenericReturnType();
+                proposalKeyClass = null;
+                proposalValueClass = null;
+            }
+
+            if (!Map.class.equals(returnRawType)) {
+                valueError = new SettingsException(
+                        "Please, specify general interface for maps as return type for method " + method.toString()
+                );
+                return;
+            }
+
+            MapKey mapKey = method.getAnnotation(MapKey.class);
+            if (mapKey != null) {
+                targetType = mapKey.value();
+            } else {
+                targetType = proposalKeyClass;
+            }
+
+            if (proposalKeyClass != null) {
+                if (!targetType.isAssignableFrom(proposalKeyClass)) {
+                    valueError = new SettingsException(
+                            "Specified return object " + targetType.getName() + " cannot be casted to " + proposalKeyClass.getName()
+                    );
+                    return;
+                }
+            }
+
+            if (targetType == null) {
+                valueError = new SettingsException(
+                        "Cannot detect key component type of map. Please, use @MapKey annotation for method " + method.toString()
+                );
+                return;
+            }
+
+            MapValue mapValue = method.getAnnotation(MapValue.class);
+            if (mapValue != null) {
+                targetValueType = mapValue.value();
+            } else {
+                targetValueType = proposalValueClass;
+            }
+
+            if (proposalValueClass != null) {
+                if (!targetValueType.isAssignableFrom(proposalValueClass)) {
+                    valueError = new SettingsException(
+                            "Specified return object " + targetValueType.getName() + " cannot be casted to " + proposalValueClass.getName()
+                    );
+                    return;
+                }
+            }
+
+            if (targetValueType == null) {
+                valueError = new SettingsException(
+                        "Cannot detect value component type of map. Please, use @MapValue annotation for method " + method.toString()
+                );
+                return;
+            }
+
+            try {
+                converter = AConfig.getToObjectConverter(targetType);
+                valueConverter = AConfig.getToObjectConverter(targetValueType);
+            } catch (SettingsException e) {
+                elementError = e;
+            }
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        Class<?> getReturnType() {
+            return returnType;
+        }
+
+        /**
+         * @return property name without prefix
+         */
+        String getName() {
+            return name;
+        }
+
+        String getDefaultValue() {
+            return defaultValue;
+        }
+
+        boolean isOptional() {
+            return optional;
+        }
+
+        boolean isPrimitive() {
+            return primitive;
+        }
+
+        String getDelimiter() {
+            return delimiter;
+        }
+
+        String getSplitter() {
+            return splitter;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return element type for arrays and collections, key type for maps and group interface for group fields
+         */
+        Class<?> getTargetType() {
+            return targetType;
+        }
+
+        Class<?> getTargetValueType() {
+            return targetValueType;
+        }
+
+        Container getContainer() {
+            return container;
+        }
+
+        ArraySetter getArraySetter() {
+            return arraySetter;
+        }
+
+        /**
+         * @return converter for scalar values and collection elements, key converter for maps. <code>null</code> if a custom parser
+         * should be used
+         */
+        Function<String, ?> getConverter() {
+            return converter;
+        }
+
+        Function<String, ?> getValueConverter() {
+            return valueConverter;
+        }
+
+        /**
+         * Returns a custom parser if any specified by {@linkplain ParseWith} annotation
+         *
+         * @param parsers registry of parser instances
+         * @return parser instance or <code>null</code> if no custom parser is specified.
+         * @throws SettingsException if parser can't be instantiated
+         */
+        IParser<?> getParser(ParserRegistry parsers) throws SettingsException {
+            if (parserClass == null) {
+                return null;
+            }
+            final IParser<?> parser = parsers.get(parserClass);
+            if (parserReturnType == null) {
+                final Class<?> parserType = parser.getReturnType();
+                if (!isAssignable(parserType, returnType) && (kind == Kind.PARSER || !isAssignable(parserType, targetType))) {
+                    throw new SettingsException(
+                            "Converter return type " + parserType.getName() + " can't be assigned to " + returnType.getName() +
+                                    " for method " + method.getName()
+                    );
+                }
+            }
+            return parser;
+        }
+
+        /**
+         * Checks if the parser of an array or a collection property produces the whole value instead of the elements. The
+         * parser is checked if its class doesn't declare the return type exactly.
+         */
+        boolean isValueParser(ParserRegistry parsers) throws SettingsException {
+            if (kind == Kind.PARSER) {
+                return true;
+            }
+            if (parserClass == null || parserReturnType != null) {
+                return false;
+            }
+            return isAssignable(getParser(parsers).getReturnType(), returnType);
+        }
+
+        private boolean isElementParser(Class<?> parserType) {
+            if (returnType.isArray()) {
+                return isAssignable(parserType, returnType.getComponentType());
+            }
+            // Element type of collections is known after resolving
+            return Collection.class.isAssignableFrom(returnType);
+        }
+
+        private static boolean isAssignable(Class<?> type, Class<?> toType) {
+            return org.apache.commons.lang3.ClassUtils.isAssignable(type, toType, true);
+        }
+
+        void checkDeclaration() throws SettingsException {
+            if (declarationError != null) {
+                throw declarationError;
+            }
+        }
+
+        void checkValue() throws SettingsException {
+            if (valueError != null) {
+                throw valueError;
+            }
+        }
+
+        void checkElements() throws SettingsException {
+            if (elementError != null) {
+                throw elementError;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.SnapshotValueGetter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles config values into a binary snapshot to be loaded with {@linkplain Config#useSnapshot(Path)}. Variables
+ * are substituted in advance, prefix handlers are applied on load.
+ * <p>
+ * Usage: <code>java org.xblackcat.sjpu.settings.config.SnapshotCompiler [--jvm] [--env] &lt;source .properties
+ * file&gt; &lt;target snapshot file&gt;</code>
+ * <p>
+ * Variables are substituted only from the source file by default. Options <code>--jvm</code> and <code>--env</code>
+ * enable substitution from JVM system properties and environment variables of the compiling machine.
+ * <p>
+ * 18.10.2026 20:15
+ *
+ * @author xBlackCat
+ */
+public final class SnapshotCompiler {
+    private SnapshotCompiler() {
+    }
+
+    public static void main(String[] args) throws SettingsException, IOException {
+        final Config.Builder builder = Config.builder();
+        final List<String> files = new ArrayList<>();
+        for (String arg: args) {
+            if ("--jvm".equals(arg)) {
+                builder.substituteJvm();
+            } else if ("--env".equals(arg)) {
+                builder.substituteEnv();
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            System.err.println(
+                    "Usage: " + SnapshotCompiler.class.getName() + " [--jvm] [--env] <source .properties file> <target snapshot file>"
+            );
+            System.exit(1);
+        }
+
+        compile(builder.use(Paths.get(files.get(0))), Paths.get(files.get(1)));
+    }
+
+    /**
+     * Writes values of the config with substituted variables into a snapshot file. Variables are substituted from the
+     * values of the config and from the substitution sources of the config only: build the config with
+     * {@linkplain Config#builder()} to choose the sources explicitly.
+     *
+     * @param config source config
+     * @param target snapshot file
+     * @throws SettingsException if values can't be loaded from the config or a value can't be substituted
+     * @throws IOException       if snapshot file can't be written
+     */
+    public static void compile(IConfig config, Path target) throws SettingsException, IOException {
+        if (!(config instanceof AConfig)) {
+            throw new SettingsException("Config " + config + " doesn't provide its values");
+        }
+        final AConfig source = (AConfig) config;
+        final IValueGetter values = source.getValueGetter();
+        if (values == null) {
+            throw new SettingsException("Config " + config + " has no values");
+        }
+
+        SnapshotValueGetter.write(source.substituteAll(values), target);
+    }
+}
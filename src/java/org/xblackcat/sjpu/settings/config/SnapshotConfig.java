@@ -0,0 +1,28 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.SnapshotValueGetter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Config over a binary snapshot built by {@linkplain SnapshotCompiler}.
+ * <p>
+ * 18.10.2026 20:10
+ *
+ * @author xBlackCat
+ */
+public class SnapshotConfig extends APermanentConfig {
+    private final Path file;
+
+    public SnapshotConfig(ConfigOptions options, Path file) {
+        super(options);
+        this.file = file;
+    }
+
+    @Override
+    protected final IValueGetter loadProperties() throws IOException {
+        return SnapshotValueGetter.load(file);
+    }
+}
@@ -0,0 +1,249 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.util.function.SupplierEx;
+
+import java.util.*;
+
+/**
+ * Resolves <code>${var}</code> expressions in property values during a single bind.
+ * <p>
+ * Each raw value is parsed once into a template of literal parts and variable names. Variables are looked up in the
+ * bound properties first and then in the substitution sources. A resolved variable is cached, so every property is
+ * resolved once per bind however many values refer to it. A cycle of references is reported as
+ * {@linkplain SettingsException}. A variable without a value is left in the result as is.
+ * <p>
+ * Substitutor records whether a {@linkplain IValueGetter#isLive() live} source is read: an object bound with such values
+ * should not be reused.
+ * <p>
+ * If values are pre-processed with {@linkplain ResolveMode#EAGER} mode the processed values are taken from the snapshot
+ * while variables are resolved with raw values as usual.
+ * <p>
+ * The object is not thread-safe: a new instance is created for every bind.
+ * <p>
+ * 18.10.2026 14:10
+ *
+ * @author xBlackCat
+ */
+final class Substitutor {
+    private final IValueGetter properties;
+    private final ResolvedValueGetter resolvedProperties;
+    private final KeyUsage usage;
+    private final List<SupplierEx<IValueGetter, SettingsException>> substitutions;
+
+    private final Map<String, Template> templates = new HashMap<>();
+    private final Map<String, String> resolved = new HashMap<>();
+    private final Set<String> inProgress = new HashSet<>();
+    private IValueGetter[] substitutionGetters;
+    private boolean live;
+
+    Substitutor(IValueGetter properties, List<SupplierEx<IValueGetter, SettingsException>> substitutions) {
+        // Requests are recorded for the raw values and for the values processed in advance
+        final KeyUsage.Recorder recorder = properties instanceof KeyUsage.Recorder ? (KeyUsage.Recorder) properties : null;
+        if (recorder != null) {
+            usage = recorder.getUsage();
+            properties = recorder.getSource();
+        } else {
+            usage = null;
+        }
+
+        if (properties instanceof ResolvedValueGetter) {
+            resolvedProperties = (ResolvedValueGetter) properties;
+            properties = resolvedProperties.getRawValues();
+        } else {
+            resolvedProperties = null;
+        }
+        live = properties.isLive();
+        this.properties = usage != null ? usage.record(properties) : properties;
+        this.substitutions = substitutions;
+    }
+
+    /**
+     * @return names of variables in the value
+     */
+    static List<String> references(String value) {
+        final Template template = Template.parse(value);
+        return template == null ? Collections.emptyList() : Arrays.asList(template.names);
+    }
+
+    /**
+     * @return <code>true</code> if live values were read: bound properties are live or a variable is looked up in a live
+     * substitution source
+     */
+    boolean isLive() {
+        return live;
+    }
+
+    /**
+     * @return raw values of properties
+     */
+    IValueGetter getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return value of the property processed in advance or <code>null</code> if the value should be processed on bind
+     */
+    String getResolved(String propertyName) {
+        if (resolvedProperties == null) {
+            return null;
+        }
+        if (usage != null) {
+            usage.addKey(propertyName);
+        }
+        return resolvedProperties.getResolved(propertyName);
+    }
+
+    /**
+     * Substitutes variables in the value of the property.
+     *
+     * @param propertyName name of the property. A reference to the property from its own value is an error.
+     * @param value        raw value of the property
+     * @return value with substituted variables
+     * @throws SettingsException if the value refers to itself directly or via other properties
+     */
+    String substitute(String propertyName, String value) throws SettingsException {
+        return resolve(propertyName, value, template(value));
+    }
+
+    private String resolve(String name, String value, Template template) throws SettingsException {
+        if (template == null) {
+            return value;
+        }
+
+        inProgress.add(name);
+        try {
+            String result = value;
+            // A substituted value could form a new expression with surrounding text: e.g. ${${name}}
+            while (template != null) {
+                final StringBuilder out = new StringBuilder(result.length() + 16 * template.names.length);
+                if (!template.apply(this, out)) {
+                    break;
+                }
+                result = out.toString();
+                template = Template.parse(result);
+            }
+            return result;
+        } finally {
+            inProgress.remove(name);
+        }
+    }
+
+    private String resolveVariable(String name) throws SettingsException {
+        if (inProgress.contains(name)) {
+            throw new SettingsException("Recurrent reference to a property " + name);
+        }
+        if (resolved.containsKey(name)) {
+            return resolved.get(name);
+        }
+
+        final String raw = getRawValue(name);
+        final String value = raw == null ? null : resolve(name, raw, template(raw));
+        resolved.put(name, value);
+        return value;
+    }
+
+    private String getRawValue(String name) throws SettingsException {
+        final String value = properties.get(name);
+        if (value != null) {
+            return value;
+        }
+
+        if (substitutionGetters == null) {
+            substitutionGetters = new IValueGetter[substitutions.size()];
+            int i = 0;
+            for (SupplierEx<IValueGetter, SettingsException> vg : substitutions) {
+                substitutionGetters[i++] = vg.get();
+            }
+        }
+        for (IValueGetter vg : substitutionGetters) {
+            if (vg.isLive()) {
+                live = true;
+            }
+            final String val = vg.get(name);
+            if (val != null) {
+                return val;
+            }
+        }
+        return null;
+    }
+
+    private Template template(String value) {
+        if (value == null || value.indexOf("${") < 0) {
+            return null;
+        }
+        return templates.computeIfAbsent(value, Template::parse);
+    }
+
+    private static boolean isNameChar(char c) {
+        // Same set of chars as regex [\w-.]
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-' || c == '.';
+    }
+
+    /**
+     * Parsed value: <code>literals[0] ${names[0]} literals[1] ... ${names[n-1]} literals[n]</code>
+     */
+    private static final class Template {
+        private final String[] literals;
+        private final String[] names;
+
+        private Template(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+        }
+
+        /**
+         * @return parsed template or <code>null</code> if the value has no variables
+         */
+        static Template parse(String value) {
+            List<String> literals = null;
+            List<String> names = null;
+            int literalStart = 0;
+            int pos = value.indexOf("${");
+            while (pos >= 0) {
+                int end = pos + 2;
+                while (end < value.length() && isNameChar(value.charAt(end))) {
+                    end++;
+                }
+                if (end > pos + 2 && end < value.length() && value.charAt(end) == '}') {
+                    if (names == null) {
+                        literals = new ArrayList<>();
+                        names = new ArrayList<>();
+                    }
+                    literals.add(value.substring(literalStart, pos));
+                    names.add(value.substring(pos + 2, end));
+                    literalStart = end + 1;
+                    pos = value.indexOf("${", literalStart);
+                } else {
+                    pos = value.indexOf("${", pos + 1);
+                }
+            }
+
+            if (names == null) {
+                return null;
+            }
+            literals.add(value.substring(literalStart));
+            return new Template(literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+
+        /**
+         * @return <code>true</code> if at least one variable is substituted
+         */
+        boolean apply(Substitutor substitutor, StringBuilder out) throws SettingsException {
+            boolean substituted = false;
+            out.append(literals[0]);
+            for (int i = 0; i < names.length; i++) {
+                final String value = substitutor.resolveVariable(names[i]);
+                if (value != null) {
+                    out.append(value);
+                    substituted = true;
+                } else {
+                    out.append("${").append(names[i]).append('}');
+                }
+                out.append(literals[i + 1]);
+            }
+            return substituted;
+        }
+    }
+}
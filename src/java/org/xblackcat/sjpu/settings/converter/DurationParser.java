@@ -1,7 +1,6 @@
 package org.xblackcat.sjpu.settings.converter;
 
 import java.time.Duration;
-import java.time.format.DateTimeParseException;
 
 /**
  * 31.08.2016 10:00
@@ -16,32 +15,12 @@ public class DurationParser implements IParser<Duration> {
 
     @Override
     public Duration apply(String s) {
-        DateTimeParseException cachedException;
-        try {
-            return Duration.parse(s);
-        } catch (DateTimeParseException e) {
-            cachedException = e;
+        final Duration value = TemporalAmountScanner.parseDuration(s);
+        if (value != null) {
+            return value;
         }
-
-        try {
-            return Duration.parse("P" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        try {
-            return Duration.parse("PT" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        try {
-            return Duration.parse("PT" + s + "S");
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        throw cachedException;
+        // Not a valid value: throw the same exception as before
+        return Duration.parse(s);
     }
 
     @Override
@@ -0,0 +1,13 @@
+package org.xblackcat.sjpu.settings.converter;
+
+/**
+ * Marker for parsers which keep state between calls and can't be shared. A new parser instance is created each time
+ * a property with the parser is bound. Parsers without the marker are instantiated once and reused, see
+ * {@linkplain ParserRegistry}.
+ * <p>
+ * 18.10.2026 12:10
+ *
+ * @author xBlackCat
+ */
+public interface IStatefulParser<T> extends IParser<T> {
+}
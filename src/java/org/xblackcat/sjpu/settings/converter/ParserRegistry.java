@@ -0,0 +1,117 @@
+package org.xblackcat.sjpu.settings.converter;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.ClassUtils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides parser instances for properties annotated with {@linkplain org.xblackcat.sjpu.settings.ann.ParseWith @ParseWith}.
+ * <p>
+ * Parsers registered with {@linkplain #register(IParser)} are used for their classes. Other parsers are instantiated
+ * once per class and shared between all the registries. Parsers marked with {@linkplain IStatefulParser} are
+ * instantiated for each bound property.
+ * <p>
+ * 18.10.2026 12:15
+ *
+ * @author xBlackCat
+ */
+public final class ParserRegistry {
+    private static final ClassValue<Object> SHARED_PARSERS = new ClassValue<Object>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Object computeValue(Class<?> type) {
+            try {
+                return ClassUtils.instantiateParser((Class<? extends IParser<?>>) type);
+            } catch (SettingsException e) {
+                // Keep failure to report it on each bind
+                return e;
+            }
+        }
+    };
+
+    private final Map<Class<?>, IParser<?>> parsers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers pre-built parser instance. The instance will be used for all the properties to be parsed by the parser
+     * class.
+     *
+     * @param parser parser instance.
+     * @return the registry
+     * @throws IllegalArgumentException if parser is marked with {@linkplain IStatefulParser}
+     */
+    public ParserRegistry register(IParser<?> parser) {
+        if (parser == null) {
+            throw new NullPointerException("Parser can't be null");
+        }
+        if (parser instanceof IStatefulParser) {
+            throw new IllegalArgumentException("Stateful parser " + parser.getClass().getName() + " can't be shared");
+        }
+        parsers.put(parser.getClass(), parser);
+        return this;
+    }
+
+    /**
+     * Returns a parser of the specified class.
+     *
+     * @param parserClass parser class
+     * @return registered or shared parser instance or a new instance for {@linkplain IStatefulParser stateful} parsers
+     * @throws SettingsException if parser can't be instantiated
+     */
+    public IParser<?> get(Class<? extends IParser<?>> parserClass) throws SettingsException {
+        final IParser<?> parser = parsers.get(parserClass);
+        if (parser != null) {
+            return parser;
+        }
+        if (IStatefulParser.class.isAssignableFrom(parserClass)) {
+            return ClassUtils.instantiateParser(parserClass);
+        }
+        return getShared(parserClass);
+    }
+
+    /**
+     * Resolves the return type of parsers from the type argument of {@linkplain IParser} in the parser class declaration.
+     *
+     * @param parserClass parser class
+     * @return return type or <code>null</code> if the class doesn't specify it (e.g. the class is generic)
+     */
+    public static Class<?> getDeclaredReturnType(Class<? extends IParser<?>> parserClass) {
+        final Map<TypeVariable<?>, Type> arguments = TypeUtils.getTypeArguments(parserClass, IParser.class);
+        if (arguments == null) {
+            return null;
+        }
+        final Type type = arguments.get(IParser.class.getTypeParameters()[0]);
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+
+    /**
+     * Returns a parser instance shared between all the registries. Stateful parsers are instantiated each time.
+     *
+     * @param parserClass parser class
+     * @return parser instance
+     * @throws SettingsException if parser can't be instantiated
+     */
+    public static IParser<?> getShared(Class<? extends IParser<?>> parserClass) throws SettingsException {
+        if (IStatefulParser.class.isAssignableFrom(parserClass)) {
+            return ClassUtils.instantiateParser(parserClass);
+        }
+
+        final Object parser = SHARED_PARSERS.get(parserClass);
+        if (parser instanceof SettingsException) {
+            final SettingsException e = (SettingsException) parser;
+            throw new SettingsException(e.getMessage(), e.getCause());
+        }
+        return (IParser<?>) parser;
+    }
+}
@@ -1,7 +1,6 @@
 package org.xblackcat.sjpu.settings.converter;
 
 import java.time.Period;
-import java.time.format.DateTimeParseException;
 
 /**
  * 31.08.2016 10:00
@@ -16,25 +15,12 @@ public class PeriodParser implements IParser<Period> {
 
     @Override
     public Period apply(String s) {
-        DateTimeParseException cachedException;
-        try {
-            return Period.parse(s);
-        } catch (DateTimeParseException e) {
-            cachedException = e;
+        final Period value = TemporalAmountScanner.parsePeriod(s);
+        if (value != null) {
+            return value;
         }
-
-        try {
-            return Period.parse("P" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-        try {
-            return Period.parse("P" + s + "D");
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        throw cachedException;
+        // Not a valid value: throw the same exception as before
+        return Period.parse(s);
     }
 
     @Override
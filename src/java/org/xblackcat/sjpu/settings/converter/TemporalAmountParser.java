@@ -1,8 +1,6 @@
 package org.xblackcat.sjpu.settings.converter;
 
-import java.time.Duration;
 import java.time.Period;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAmount;
 
 /**
@@ -18,45 +16,12 @@ public class TemporalAmountParser implements IParser<TemporalAmount> {
 
     @Override
     public TemporalAmount apply(String s) {
-        DateTimeParseException cachedException;
-        try {
-            return Period.parse(s);
-        } catch (DateTimeParseException e) {
-            cachedException = e;
+        final TemporalAmount value = TemporalAmountScanner.parseTemporalAmount(s);
+        if (value != null) {
+            return value;
         }
-
-        try {
-            return Duration.parse(s);
-        } catch (DateTimeParseException e) {
-            // ignore - try other formats
-        }
-
-        try {
-            return Period.parse("P" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-
-        try {
-            return Duration.parse("P" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        try {
-            return Duration.parse("PT" + s);
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        try {
-            return Duration.parse("PT" + s + "S");
-        } catch (DateTimeParseException e) {
-            // Ignore - try other formats
-        }
-
-        throw cachedException;
+        // Not a valid value: throw the same exception as before
+        return Period.parse(s);
     }
 
     @Override
@@ -0,0 +1,409 @@
+package org.xblackcat.sjpu.settings.converter;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAmount;
+
+/**
+ * Exception-free parsing of ISO-8601 durations and periods for {@linkplain DurationParser}, {@linkplain PeriodParser} and
+ * {@linkplain TemporalAmountParser}.
+ * <p>
+ * Parsers accept shortened forms of the values: without 'P' or 'PT' prefix or a bare number. Each form is checked by a
+ * single scan of the value with an implied prefix and suffix instead of building a new string and catching
+ * {@linkplain DateTimeParseException} from {@linkplain Duration#parse(CharSequence)} or
+ * {@linkplain Period#parse(CharSequence)}. Forms are checked in the same order as the parsers did before, so the same
+ * value is returned for the same input. Scan methods return <code>null</code> if the value can't be parsed: the parsers
+ * then call the JDK method to throw the same exception as before.
+ * <p>
+ * 18.10.2026 13:05
+ *
+ * @author xBlackCat
+ */
+final class TemporalAmountScanner {
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private TemporalAmountScanner() {
+    }
+
+    /**
+     * Tries formats <code>PnDTnHnMn.nS</code>, <code>nDTnHnMn.nS</code>, <code>nHnMn.nS</code> and <code>n.n</code> (seconds).
+     */
+    static Duration parseDuration(String s) {
+        if (s == null) {
+            return null;
+        }
+        if (isIsoForm(s)) {
+            return duration("", s, "");
+        }
+
+        Duration d = duration("P", s, "");
+        if (d == null) {
+            d = duration("PT", s, "");
+        }
+        if (d == null) {
+            d = duration("PT", s, "S");
+        }
+        return d;
+    }
+
+    /**
+     * Tries formats <code>PnYnMnWnD</code>, <code>nYnMnWnD</code> and <code>n</code> (days).
+     */
+    static Period parsePeriod(String s) {
+        if (s == null) {
+            return null;
+        }
+        if (isIsoForm(s)) {
+            return period("", s, "");
+        }
+
+        Period p = period("P", s, "");
+        if (p == null) {
+            p = period("P", s, "D");
+        }
+        return p;
+    }
+
+    /**
+     * Tries the period formats first and then the duration ones. A bare number is treated as amount of seconds.
+     */
+    static TemporalAmount parseTemporalAmount(String s) {
+        if (s == null) {
+            return null;
+        }
+        if (isIsoForm(s)) {
+            final Period p = period("", s, "");
+            return p != null ? p : duration("", s, "");
+        }
+
+        final Period p = period("P", s, "");
+        if (p != null) {
+            return p;
+        }
+        Duration d = duration("P", s, "");
+        if (d == null) {
+            d = duration("PT", s, "");
+        }
+        if (d == null) {
+            d = duration("PT", s, "S");
+        }
+        return d;
+    }
+
+    /**
+     * Checks if the value starts with an optional sign and 'P' letter. Such a value can't be parsed with any implied
+     * prefix.
+     */
+    private static boolean isIsoForm(String s) {
+        int i = 0;
+        if (i < s.length() && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        return i < s.length() && (s.charAt(i) == 'P' || s.charAt(i) == 'p');
+    }
+
+    /**
+     * Parses <code>prefix + s + suffix</code> as {@linkplain Duration#parse(CharSequence)} does.
+     *
+     * @return parsed duration or <code>null</code> if the value is not a valid duration.
+     */
+    private static Duration duration(String prefix, String s, String suffix) {
+        final Cursor c = new Cursor(prefix, s, suffix);
+
+        final boolean negate = c.peek() == '-';
+        c.skipSign();
+        if (!c.skip('P')) {
+            return null;
+        }
+
+        long days = 0;
+        boolean hasValue = false;
+        if (c.atNumber()) {
+            if (!c.readNumber() || !c.skip('D')) {
+                return null;
+            }
+            days = c.number;
+            hasValue = true;
+        }
+
+        long hours = 0;
+        long minutes = 0;
+        long seconds = 0;
+        int nanos = 0;
+        boolean negativeSeconds = false;
+        final boolean upperCaseT = c.peek() == 'T';
+        if (c.skip('T')) {
+            int stage = 0; // 0 - hours are allowed, 1 - minutes are allowed, 2 - seconds are allowed, 3 - no more values
+            boolean hasTime = false;
+            while (!c.atEnd()) {
+                if (stage > 2) {
+                    return null;
+                }
+                final boolean negativeNumber = c.peek() == '-';
+                if (!c.readNumber()) {
+                    return null;
+                }
+                final char unit = upper(c.next());
+                if (unit == 'H' && stage == 0) {
+                    hours = c.number;
+                    stage = 1;
+                } else if (unit == 'M' && stage <= 1) {
+                    minutes = c.number;
+                    stage = 2;
+                } else if (unit == 'S') {
+                    seconds = c.number;
+                    negativeSeconds = negativeNumber;
+                    stage = 3;
+                } else if (unit == '.' || unit == ',') {
+                    seconds = c.number;
+                    negativeSeconds = negativeNumber;
+                    int digits = 0;
+                    int fraction = 0;
+                    while (c.atDigit()) {
+                        if (++digits > 9) {
+                            return null;
+                        }
+                        fraction = fraction * 10 + (c.next() - '0');
+                    }
+                    if (!c.skip('S')) {
+                        return null;
+                    }
+                    for (int i = digits; i < 9; i++) {
+                        fraction *= 10;
+                    }
+                    nanos = fraction;
+                    stage = 3;
+                } else {
+                    return null;
+                }
+                hasTime = true;
+            }
+            if (!hasTime && upperCaseT) {
+                // 'T' without time values. JDK checks it case-sensitively: a single 't' is allowed
+                return null;
+            }
+            hasValue |= hasTime;
+        }
+
+        if (!c.atEnd() || !hasValue) {
+            return null;
+        }
+
+        if (negativeSeconds && seconds == 0 && nanos != 0) {
+            // '-0.n' seconds: sign handling of the fraction differs between JDK versions - let JDK decide
+            try {
+                return Duration.parse(c.toString());
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        try {
+            final long totalSeconds = Math.addExact(
+                    Math.multiplyExact(days, SECONDS_PER_DAY),
+                    Math.addExact(
+                            Math.multiplyExact(hours, SECONDS_PER_HOUR),
+                            Math.addExact(Math.multiplyExact(minutes, SECONDS_PER_MINUTE), seconds)
+                    )
+            );
+            final Duration duration = Duration.ofSeconds(totalSeconds, seconds < 0 ? -nanos : nanos);
+            return negate ? duration.negated() : duration;
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses <code>prefix + s + suffix</code> as {@linkplain Period#parse(CharSequence)} does.
+     *
+     * @return parsed period or <code>null</code> if the value is not a valid period.
+     */
+    private static Period period(String prefix, String s, String suffix) {
+        final Cursor c = new Cursor(prefix, s, suffix);
+
+        final int negate = c.peek() == '-' ? -1 : 1;
+        c.skipSign();
+        if (!c.skip('P')) {
+            return null;
+        }
+
+        long years = 0;
+        long months = 0;
+        long weeks = 0;
+        long days = 0;
+        int stage = 0; // Index of the first allowed unit in 'YMWD'
+        while (!c.atEnd()) {
+            if (stage > 3 || !c.readNumber() || c.number < Integer.MIN_VALUE || c.number > Integer.MAX_VALUE) {
+                return null;
+            }
+            final char unit = upper(c.next());
+            final int idx = "YMWD".indexOf(unit);
+            if (idx < stage) {
+                return null;
+            }
+            switch (idx) {
+                case 0:
+                    years = c.number;
+                    break;
+                case 1:
+                    months = c.number;
+                    break;
+                case 2:
+                    weeks = c.number;
+                    break;
+                default:
+                    days = c.number;
+                    break;
+            }
+            stage = idx + 1;
+        }
+
+        if (stage == 0) {
+            return null;
+        }
+
+        try {
+            return Period.of(
+                    Math.multiplyExact((int) years, negate),
+                    Math.multiplyExact((int) months, negate),
+                    Math.addExact(Math.multiplyExact((int) days, negate), Math.multiplyExact(Math.multiplyExact((int) weeks, negate), 7))
+            );
+        } catch (ArithmeticException e) {
+            // Overflow of weeks is not reported as DateTimeParseException by JDK - let it produce the same result
+            try {
+                return Period.parse(c.toString());
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * JDK patterns are case-insensitive for ASCII letters only
+     */
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - 'a' + 'A') : c;
+    }
+
+    /**
+     * Reads chars of virtual string <code>prefix + value + suffix</code> without concatenation.
+     */
+    private static final class Cursor {
+        private final String prefix;
+        private final String value;
+        private final String suffix;
+        private final int valueEnd;
+        private final int length;
+        private int pos;
+        /**
+         * Last read number
+         */
+        private long number;
+
+        private Cursor(String prefix, String value, String suffix) {
+            this.prefix = prefix;
+            this.value = value;
+            this.suffix = suffix;
+            valueEnd = prefix.length() + value.length();
+            length = valueEnd + suffix.length();
+        }
+
+        private char charAt(int i) {
+            if (i < prefix.length()) {
+                return prefix.charAt(i);
+            } else if (i < valueEnd) {
+                return value.charAt(i - prefix.length());
+            } else {
+                return suffix.charAt(i - valueEnd);
+            }
+        }
+
+        boolean atEnd() {
+            return pos >= length;
+        }
+
+        char peek() {
+            return pos < length ? charAt(pos) : 0;
+        }
+
+        char next() {
+            return pos < length ? charAt(pos++) : 0;
+        }
+
+        boolean atDigit() {
+            final char c = peek();
+            return c >= '0' && c <= '9';
+        }
+
+        boolean atNumber() {
+            if (atDigit()) {
+                return true;
+            }
+            final char c = peek();
+            if (c == '-' || c == '+') {
+                if (pos + 1 < length) {
+                    final char d = charAt(pos + 1);
+                    return d >= '0' && d <= '9';
+                }
+            }
+            return false;
+        }
+
+        void skipSign() {
+            final char c = peek();
+            if (c == '-' || c == '+') {
+                pos++;
+            }
+        }
+
+        /**
+         * Skips a letter ignoring its case.
+         */
+        boolean skip(char upperCaseLetter) {
+            if (upper(peek()) == upperCaseLetter && !atEnd()) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Reads a number of format <code>[-+]?[0-9]+</code> into {@linkplain #number} field as {@linkplain Long#parseLong(String)}
+         * does.
+         *
+         * @return <code>false</code> if there is no number at the position or it is out of long range.
+         */
+        boolean readNumber() {
+            final boolean negative = peek() == '-';
+            skipSign();
+            if (!atDigit()) {
+                return false;
+            }
+            // Accumulate negative value to cover Long.MIN_VALUE
+            long result = 0;
+            while (atDigit()) {
+                final int digit = next() - '0';
+                if (result < (Long.MIN_VALUE + digit) / 10) {
+                    return false;
+                }
+                result = result * 10 - digit;
+            }
+            if (!negative) {
+                if (result == Long.MIN_VALUE) {
+                    return false;
+                }
+                result = -result;
+            }
+            number = result;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return prefix + value + suffix;
+        }
+    }
+}
@@ -11,13 +11,16 @@ import org.xblackcat.sjpu.settings.NotLoadedException;
 import org.xblackcat.sjpu.settings.SettingsException;
 import org.xblackcat.sjpu.settings.ann.*;
 import org.xblackcat.sjpu.settings.ann.Optional;
+import org.xblackcat.sjpu.settings.config.IBindingSource;
+import org.xblackcat.sjpu.settings.config.ISettingsBinder;
 import org.xblackcat.sjpu.settings.config.ISettingsWrapper;
 import org.xblackcat.sjpu.settings.converter.IParser;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
 
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 12.02.13 16:40
@@ -31,6 +34,34 @@ public class ClassUtils {
     private static final String DEFAULT_SPLITTER = ":";
     private static final String NOT_LOADED_EXCEPTION_CLASS = BuilderUtils.getName(NotLoadedException.class);
 
+    /**
+     * Generated classes of a settings interface by the class loader they are defined in.
+     */
+    private static final ClassValue<ConcurrentMap<ClassLoader, GeneratedClasses<?>>> GENERATED_CLASSES = new ClassValue<ConcurrentMap<ClassLoader, GeneratedClasses<?>>>() {
+        @Override
+        protected ConcurrentMap<ClassLoader, GeneratedClasses<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * Javassist class pools are not thread-safe and child pools share their parents so only one class is generated at a
+     * time.
+     */
+    private static final Object GENERATION_LOCK = new Object();
+
+    private static final ClassValue<List<Method>> PROPERTY_METHODS = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            final List<Method> methods = new ArrayList<>();
+            for (Method m : type.getMethods()) {
+                if (!ignoreMethod(m)) {
+                    methods.add(m);
+                }
+            }
+            return Collections.unmodifiableList(methods);
+        }
+    };
+
     public static String buildPropertyName(Method m) {
         return buildPropertyName(null, m);
     }
@@ -72,8 +103,11 @@ public class ClassUtils {
             return null;
         }
 
+        return ParserRegistry.getShared(parseWith.value());
+    }
+
+    public static IParser<?> instantiateParser(Class<? extends IParser<?>> aClass) throws SettingsException {
         final IParser<?> parser;
-        final Class<? extends IParser<?>> aClass = parseWith.value();
         try {
             // Check for default constructor
             aClass.getConstructor();
@@ -108,47 +142,112 @@ public class ClassUtils {
         }
     }
 
-    public static synchronized <T> Constructor<T> getSettingsConstructor(Class<T> clazz, ClassPool pool) throws SettingsException {
-        final String implName = clazz.getName() + "$Impl";
-        Class<?> aClass;
-        try {
-            aClass = Class.forName(implName, true, pool.getClassLoader());
-        } catch (ClassNotFoundException e) {
-            try {
-                CtClass settingsClass = buildSettingsClass(clazz, pool);
-                aClass = settingsClass.toClass();
-                settingsClass.detach();
-            } catch (CannotCompileException ee) {
-                throw new SettingsException("Can't initialize a constructor for generated class " + clazz.getName(), ee);
+    /**
+     * Returns getter methods of the settings interface which are mapped to properties: all the methods except default and
+     * {@linkplain Ignore ignored} ones. The list is built once per interface and defines an order of parameters of generated
+     * constructor so binding code and generated classes always agree on it.
+     *
+     * @param clazz settings interface
+     * @return unmodifiable list of methods mapped to properties.
+     */
+    public static List<Method> getPropertyMethods(Class<?> clazz) {
+        return PROPERTY_METHODS.get(clazz);
+    }
+
+    /**
+     * Resolves positions of the getters in the {@linkplain #getPropertyMethods(Class) property list}. Used by binders
+     * generated at compile time: order of constructor parameters in the classes is defined by source code and it does
+     * not depend on order of methods returned by reflection.
+     *
+     * @param clazz       settings interface
+     * @param methodNames getter names
+     * @return property index for each getter.
+     * @throws IllegalStateException if a getter is not mapped to a property (generated class is out of date)
+     */
+    public static int[] getPropertyIndexes(Class<?> clazz, String... methodNames) {
+        final List<Method> methods = getPropertyMethods(clazz);
+        final int[] indexes = new int[methodNames.length];
+        for (int i = 0; i < methodNames.length; i++) {
+            indexes[i] = -1;
+            for (int j = 0; j < methods.size(); j++) {
+                if (methods.get(j).getName().equals(methodNames[i])) {
+                    indexes[i] = j;
+                    break;
+                }
+            }
+            if (indexes[i] < 0) {
+                throw new IllegalStateException(
+                        "Method " + methodNames[i] + " is not a property of " + clazz.getName() + ". Generated classes should be rebuilt."
+                );
             }
         }
+        return indexes;
+    }
 
-        // A class with a single constructor has been generated
-        @SuppressWarnings({"unchecked", "UnnecessaryLocalVariable"}) final Constructor<T> constructor = (Constructor<T>) aClass.getConstructors()[0];
-        return constructor;
+    /**
+     * Returns a constructor of implementation class for the settings interface. A pre-generated class is used if it is
+     * available, otherwise the class is generated with Javassist. Classes are resolved once per interface and class loader
+     * of the pool: concurrent requests for the same interface wait for a single resolution, generation of classes is
+     * serialized over all pools. Subsequent lookups are lock-free.
+     *
+     * @param clazz settings interface
+     * @param pool  class pool for generating classes
+     * @param <T>   settings interface
+     * @return constructor with a parameter for each of {@linkplain #getPropertyMethods(Class) property methods}. Parameters
+     * of a generated class follow the property method order while parameters of a pre-generated class follow the source
+     * order of the methods: use {@linkplain #getSettingsBinder(Class, ClassPool)} to create instances.
+     * @throws SettingsException if implementation class can't be generated
+     */
+    public static <T> Constructor<T> getSettingsConstructor(Class<T> clazz, ClassPool pool) throws SettingsException {
+        return GeneratedClasses.of(clazz, pool).getConstructor(pool);
     }
 
-    public static synchronized <T> Constructor<ISettingsWrapper<T>> getSettingsWrapperConstructor(
+    /**
+     * Returns a binder for the settings interface. The binder constructs an implementation object directly from
+     * {@linkplain IBindingSource} values without boxing of primitives and without reflection.
+     *
+     * @param clazz settings interface
+     * @param pool  class pool for generating classes
+     * @param <T>   settings interface
+     * @return binder instance. Binders are stateless and shared.
+     * @throws SettingsException if binder or implementation class can't be generated
+     */
+    public static <T> ISettingsBinder<T> getSettingsBinder(Class<T> clazz, ClassPool pool) throws SettingsException {
+        return GeneratedClasses.of(clazz, pool).getBinder(pool);
+    }
+
+    public static <T> Constructor<ISettingsWrapper<T>> getSettingsWrapperConstructor(
             Class<T> clazz,
             ClassPool pool
     ) throws SettingsException {
-        final String implName = clazz.getName() + "$Wrapper";
-        Class<?> aClass;
+        return GeneratedClasses.of(clazz, pool).getWrapperConstructor(pool);
+    }
+
+    /**
+     * Looks for a pre-generated class or a class generated earlier in the class loader, e.g. by a generation that failed
+     * later on. A class could be defined without a class file so the class loader is always asked.
+     *
+     * @return loaded class or <code>null</code> if there is no such class in the class loader
+     */
+    private static Class<?> findGeneratedClass(String className, ClassLoader classLoader) {
         try {
-            aClass = Class.forName(implName, true, pool.getClassLoader());
+            return Class.forName(className, false, loaderOf(classLoader));
         } catch (ClassNotFoundException e) {
-            try {
-                CtClass settingsClass = buildSettingsWrapperClass(clazz, pool);
-                aClass = settingsClass.toClass();
-                settingsClass.detach();
-            } catch (CannotCompileException ee) {
-                throw new SettingsException("Can't initialize a constructor for generated class " + clazz.getName(), ee);
-            }
+            return null;
         }
+    }
 
-        // A class with a single constructor has been generated
-        @SuppressWarnings({"unchecked", "UnnecessaryLocalVariable"}) final Constructor<ISettingsWrapper<T>> constructor = (Constructor<ISettingsWrapper<T>>) aClass.getConstructors()[0];
-        return constructor;
+    private static ClassLoader loaderOf(ClassLoader classLoader) {
+        return classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ISettingsBinder<T> instantiateBinder(Class<?> binderClass) throws SettingsException {
+        try {
+            return (ISettingsBinder<T>) binderClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new SettingsException("Can't instantiate binder class " + binderClass.getName(), e);
+        }
     }
 
     private static <T> CtClass buildSettingsClass(Class<T> clazz, ClassPool pool) throws SettingsException {
@@ -191,22 +290,20 @@ public class ClassUtils {
         equalsBody.append(className);
         equalsBody.append(") $1;\n return true");
 
-        int idx = 1;
         for (Method m : clazz.getMethods()) {
-            final String mName = m.getName();
-            final Class<?> returnType = m.getReturnType();
-
             if (m.isDefault()) {
                 if (log.isTraceEnabled()) {
                     log.trace("Ignore default method " + m + " in interface " + clazz.getName());
                 }
-                continue;
+            } else if (m.isAnnotationPresent(Ignore.class)) {
+                addIgnoredImplementation(pool, settingsClass, m, m.getName(), m.getReturnType());
             }
+        }
 
-            if (m.isAnnotationPresent(Ignore.class)) {
-                addIgnoredImplementation(pool, settingsClass, m, mName, returnType);
-                continue;
-            }
+        int idx = 1;
+        for (Method m : getPropertyMethods(clazz)) {
+            final String mName = m.getName();
+            final Class<?> returnType = m.getReturnType();
 
             if (m.getParameterTypes().length > 0) {
                 throw new SettingsException("Method " + m.toString() + " has parameters - can't be processed as getter");
@@ -397,6 +494,75 @@ public class ClassUtils {
         }
     }
 
+    private static <T> CtClass buildSettingsBinderClass(Class<T> clazz, ClassPool pool, CtClass implClass) throws SettingsException {
+        final CtClass binderClass;
+        try {
+            final CtClass settingsInterface = pool.get(clazz.getName());
+            binderClass = settingsInterface.makeNestedClass("Binder", true);
+            binderClass.addInterface(BuilderUtils.toCtClass(pool, ISettingsBinder.class));
+        } catch (NotFoundException e) {
+            throw new SettingsException("Can't generate binder class for settings", e);
+        }
+
+        StringBuilder bindBody = new StringBuilder();
+        bindBody.append("{\nreturn new ");
+        bindBody.append(implClass.getName());
+        bindBody.append("(");
+
+        int idx = 0;
+        for (Method m : getPropertyMethods(clazz)) {
+            if (idx > 0) {
+                bindBody.append(",");
+            }
+            bindBody.append("\n");
+
+            final Class<?> returnType = m.getReturnType();
+            if (returnType.isPrimitive()) {
+                // Generates $1.getInt(idx) and so on
+                final String typeName = returnType.getName();
+                bindBody.append("$1.get");
+                bindBody.append(Character.toUpperCase(typeName.charAt(0)));
+                bindBody.append(typeName, 1, typeName.length());
+                bindBody.append("(");
+                bindBody.append(idx);
+                bindBody.append(")");
+            } else {
+                bindBody.append("(");
+                bindBody.append(BuilderUtils.getName(returnType));
+                bindBody.append(") $1.getObject(");
+                bindBody.append(idx);
+                bindBody.append(")");
+            }
+
+            idx++;
+        }
+        bindBody.append("\n);\n}");
+
+        try {
+            if (log.isTraceEnabled()) {
+                log.trace("Generated method " + clazz.getName() + "$Binder#bind() " + bindBody.toString());
+            }
+
+            final CtMethod bind = CtNewMethod.make(
+                    Modifier.FINAL | Modifier.PUBLIC,
+                    pool.get(Object.class.getName()),
+                    "bind",
+                    new CtClass[]{BuilderUtils.toCtClass(pool, IBindingSource.class)},
+                    new CtClass[]{BuilderUtils.toCtClass(pool, SettingsException.class)},
+                    bindBody.toString(),
+                    binderClass
+            );
+
+            binderClass.addMethod(bind);
+
+            return binderClass;
+        } catch (CannotCompileException e) {
+            throw new SettingsException("Can't generate a binder for generated class " + clazz.getName(), e);
+        } catch (NotFoundException e) {
+            throw new SettingsException("Can't generate a bind() method for generated class " + clazz.getName(), e);
+        }
+    }
+
     private static <T> CtClass buildSettingsWrapperClass(Class<T> clazz, ClassPool pool) throws SettingsException {
         if (!clazz.isInterface()) {
             throw new SettingsException("Only annotated interfaces are supported. " + clazz.getName() + " is a class.");
@@ -413,19 +579,13 @@ public class ClassUtils {
             throw new SettingsException("Can't generate class for settings", e);
         }
 
+        // Wrapped object is immutable so a single volatile reference is enough to publish a new config safely: getters
+        // make exactly one volatile read and never block each other or the updating thread.
         try {
-            {
-                CtField f = new CtField(pool.get(ReadWriteLock.class.getName()), "__lock", settingsClass);
-                f.setModifiers(Modifier.FINAL | Modifier.PRIVATE);
-                settingsClass.addField(f);
-            }
-
-            {
-                CtField f = new CtField(settingsInterface, "__config", settingsClass);
-                f.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
-                settingsClass.addField(f);
-            }
-        } catch (CannotCompileException | NotFoundException e) {
+            CtField f = new CtField(settingsInterface, "__config", settingsClass);
+            f.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+            settingsClass.addField(f);
+        } catch (CannotCompileException e) {
             throw new SettingsException("Can't initialize fields in class for settings", e);
         }
 
@@ -458,15 +618,11 @@ public class ClassUtils {
 
             try {
                 final String body = "{\n" +
-                        "this.__lock.readLock().lock();\n" +
-                        "try {\n" +
-                        "if (this.__config == null) {\n" +
+                        settingsInterface.getName() + " config = this.__config;\n" +
+                        "if (config == null) {\n" +
                         "throw new " + NOT_LOADED_EXCEPTION_CLASS + "(\"Optional config " + clazz.getName() + " is not loaded\");\n" +
                         "}\n" +
-                        "return ($r) this.__config." + mName + "()" + ";\n" +
-                        "} finally {\n" +
-                        "this.__lock.readLock().unlock();\n" +
-                        "}\n" +
+                        "return ($r) config." + mName + "()" + ";\n" +
                         "}";
 
                 if (log.isTraceEnabled()) {
@@ -490,32 +646,16 @@ public class ClassUtils {
 
 
         String toStringBody = "{\n" +
-                "this.__lock.readLock().lock();\n" +
-                "try {\n" +
                 "return \"" + clazz.getSimpleName() + " wrapper of \" + String.valueOf(this.__config);\n" +
-                "} finally {\n" +
-                "this.__lock.readLock().unlock();\n" +
-                "}\n" +
                 "}";
         String constructorBody = "{\n" +
                 "this.__config = $1;\n" +
-                "this.__lock = new " + BuilderUtils.getName(ReentrantReadWriteLock.class) + "();\n" +
                 "}";
         String getterBody = "{\n" +
-                "this.__lock.readLock().lock();\n" +
-                "try {\n" +
                 "return ($r) this.__config;\n" +
-                "} finally {\n" +
-                "this.__lock.readLock().unlock();\n" +
-                "}\n" +
                 "}";
         String setterBody = "{\n" +
-                "this.__lock.writeLock().lock();\n" +
-                "try {\n" +
-                "this.__config = $1;\n" +
-                "} finally {\n" +
-                "this.__lock.writeLock().unlock();\n" +
-                "}\n" +
+                "this.__config = (" + settingsInterface.getName() + ") $1;\n" +
                 "}";
 
         try {
@@ -652,4 +792,133 @@ public class ClassUtils {
     public static boolean ignoreMethod(Method method) {
         return method.isDefault() || method.isAnnotationPresent(Ignore.class);
     }
+
+    /**
+     * Implementation, binder and wrapper classes of a settings interface in a class loader. Each kind of class is resolved
+     * once: a monitor of the holder is taken only until the class is loaded or generated, after that values are read from
+     * volatile fields.
+     */
+    private static final class GeneratedClasses<T> {
+        private final Class<T> clazz;
+
+        private volatile Constructor<T> constructor;
+        private volatile ISettingsBinder<T> binder;
+        private volatile Constructor<ISettingsWrapper<T>> wrapperConstructor;
+
+        private GeneratedClasses(Class<T> clazz) {
+            this.clazz = clazz;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> GeneratedClasses<T> of(Class<T> clazz, ClassPool pool) {
+            return (GeneratedClasses<T>) GENERATED_CLASSES.get(clazz).computeIfAbsent(
+                    loaderOf(pool.getClassLoader()),
+                    l -> new GeneratedClasses<>(clazz)
+            );
+        }
+
+        Constructor<T> getConstructor(ClassPool pool) throws SettingsException {
+            final Constructor<T> c = constructor;
+            if (c != null) {
+                return c;
+            }
+
+            synchronized (this) {
+                if (constructor == null) {
+                    loadImplementation(pool);
+                }
+                return constructor;
+            }
+        }
+
+        ISettingsBinder<T> getBinder(ClassPool pool) throws SettingsException {
+            final ISettingsBinder<T> b = binder;
+            if (b != null) {
+                return b;
+            }
+
+            synchronized (this) {
+                if (binder != null) {
+                    return binder;
+                }
+
+                final Class<?> binderClass = findGeneratedClass(clazz.getName() + "$Binder", pool.getClassLoader());
+                if (binderClass != null) {
+                    binder = instantiateBinder(binderClass);
+                } else {
+                    if (constructor == null) {
+                        // Binder is generated along with implementation class
+                        loadImplementation(pool);
+                    }
+                    if (binder == null) {
+                        // Parameters of a pre-generated implementation class could not be mapped to properties without its binder
+                        throw new SettingsException(
+                                "Pre-generated class " + clazz.getName() + "$Impl is found without " + clazz.getName() +
+                                        "$Binder. Generated classes should be rebuilt."
+                        );
+                    }
+                }
+                return binder;
+            }
+        }
+
+        Constructor<ISettingsWrapper<T>> getWrapperConstructor(ClassPool pool) throws SettingsException {
+            final Constructor<ISettingsWrapper<T>> c = wrapperConstructor;
+            if (c != null) {
+                return c;
+            }
+
+            synchronized (this) {
+                if (wrapperConstructor != null) {
+                    return wrapperConstructor;
+                }
+
+                Class<?> aClass = findGeneratedClass(clazz.getName() + "$Wrapper", pool.getClassLoader());
+                if (aClass == null) {
+                    synchronized (GENERATION_LOCK) {
+                        try {
+                            CtClass settingsClass = buildSettingsWrapperClass(clazz, pool);
+                            aClass = settingsClass.toClass();
+                            settingsClass.detach();
+                        } catch (CannotCompileException e) {
+                            throw new SettingsException("Can't initialize a constructor for generated class " + clazz.getName(), e);
+                        }
+                    }
+                }
+
+                // A class with a single constructor has been generated
+                @SuppressWarnings("unchecked") final Constructor<ISettingsWrapper<T>> wc = (Constructor<ISettingsWrapper<T>>) aClass.getConstructors()[0];
+                wrapperConstructor = wc;
+                return wc;
+            }
+        }
+
+        private void loadImplementation(ClassPool pool) throws SettingsException {
+            Class<?> aClass = findGeneratedClass(clazz.getName() + "$Impl", pool.getClassLoader());
+            if (aClass == null) {
+                final Class<?> binderType;
+                synchronized (GENERATION_LOCK) {
+                    try {
+                        CtClass settingsClass = buildSettingsClass(clazz, pool);
+                        // Binder refers to the implementation class so generate it while the implementation is still in the pool
+                        CtClass binderClass = buildSettingsBinderClass(clazz, pool, settingsClass);
+                        aClass = settingsClass.toClass();
+                        binderType = binderClass.toClass();
+                        settingsClass.detach();
+                        binderClass.detach();
+                    } catch (CannotCompileException e) {
+                        throw new SettingsException("Can't initialize a constructor for generated class " + clazz.getName(), e);
+                    }
+                }
+
+                if (binder == null) {
+                    binder = instantiateBinder(binderType);
+                }
+            }
+
+            // A class with a single constructor has been generated
+            @SuppressWarnings("unchecked") final Constructor<T> c = (Constructor<T>) aClass.getConstructors()[0];
+            constructor = c;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Symbolic links followed to reach a file. Used to track files which are updated by replacing a link instead of the
+ * file itself, e.g. Kubernetes ConfigMap volumes: <code>settings.properties -&gt; ..data/settings.properties</code>
+ * where <code>..data</code> is a link to a timestamped directory and is atomically replaced on update.
+ * <p>
+ * Links are looked for only below the directory of the file (or of a link): parent directories are considered stable.
+ * <p>
+ * 18.10.2026 23:20
+ *
+ * @author xBlackCat
+ */
+public final class FileLinks {
+    private static final int MAX_LINKS = 40;
+
+    private final Set<Path> entries;
+    private final Set<Path> directories;
+    private final Path realPath;
+
+    /**
+     * Follows symbolic links of the file. Missing or unreadable links stop the resolution.
+     *
+     * @param file file to resolve
+     * @return links of the file
+     */
+    public static FileLinks resolve(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        final Set<Path> entries = new LinkedHashSet<>();
+        final Set<Path> directories = new LinkedHashSet<>();
+        entries.add(path);
+        directories.add(path.getParent());
+
+        // Components before the index are already resolved
+        int resolved = path.getNameCount() - 1;
+        int links = 0;
+        follow:
+        while (links < MAX_LINKS) {
+            for (int i = resolved; i < path.getNameCount(); i++) {
+                final Path current = path.getRoot().resolve(path.subpath(0, i + 1));
+                if (!Files.isSymbolicLink(current)) {
+                    continue;
+                }
+
+                final Path target;
+                try {
+                    target = current.getParent().resolve(Files.readSymbolicLink(current)).normalize();
+                } catch (IOException e) {
+                    // Link is being replaced
+                    break follow;
+                }
+                links++;
+                entries.add(current);
+                directories.add(current.getParent());
+
+                final Path resolvedPath = i + 1 < path.getNameCount() ? target.resolve(path.subpath(i + 1, path.getNameCount())) : target;
+                resolved = commonNames(current.getParent(), resolvedPath);
+                path = resolvedPath;
+                continue follow;
+            }
+            break;
+        }
+
+        entries.add(path);
+        directories.add(path.getParent());
+        return new FileLinks(entries, directories, path);
+    }
+
+    private static int commonNames(Path directory, Path path) {
+        if (!path.startsWith(directory)) {
+            return 0;
+        }
+        return directory.getNameCount();
+    }
+
+    private FileLinks(Set<Path> entries, Set<Path> directories, Path realPath) {
+        this.entries = Collections.unmodifiableSet(entries);
+        this.directories = Collections.unmodifiableSet(directories);
+        this.realPath = realPath;
+    }
+
+    /**
+     * @return absolute paths of the file, followed links and the resolved file. A change of any of the entries could
+     * change the file content.
+     */
+    public Set<Path> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return directories containing the entries
+     */
+    public Set<Path> getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @return path of the file with all links resolved
+     */
+    public Path getRealPath() {
+        return realPath;
+    }
+}
@@ -1,5 +1,6 @@
 package org.xblackcat.sjpu.settings.util;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,20 +34,36 @@ public interface IValueGetter {
 
     Set<String> keySet();
 
+    /**
+     * Returns names of all the properties started with the prefix. Default implementation checks all the names.
+     *
+     * @param prefix name prefix
+     * @return collection of names
+     */
+    default Collection<String> keysWithPrefix(String prefix) {
+        return keySet().stream().filter(k -> k.startsWith(prefix)).collect(Collectors.toList());
+    }
+
+    /**
+     * Live values could change at runtime (e.g. JVM system properties), so objects bound with such values should not be
+     * reused.
+     *
+     * @return <code>true</code> if values could be changed after the object is created
+     */
+    default boolean isLive() {
+        return false;
+    }
+
+    /**
+     * Returns a view of values with names started with the prefix. Names in the view are relative to the prefix.
+     *
+     * @param prefix name prefix without trailing dot
+     * @return view of values
+     */
     default IValueGetter withPrefix(String prefix) {
         if (prefix == null || prefix.length() == 0) {
             return this;
         }
-        return new IValueGetter() {
-            @Override
-            public String get(String key) {
-                return IValueGetter.this.get(prefix + "." + key);
-            }
-
-            @Override
-            public Set<String> keySet() {
-                return IValueGetter.this.keySet().stream().map(v -> prefix + "." + v).collect(Collectors.toSet());
-            }
-        };
+        return PrefixedValueGetter.of(this, prefix);
     }
 }
@@ -0,0 +1,57 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable sorted index of property names for fast lookup of names with a common prefix.
+ * <p>
+ * 18.10.2026 16:40
+ *
+ * @author xBlackCat
+ */
+public final class KeyIndex {
+    private final String[] keys;
+    private final List<String> keyList;
+
+    public KeyIndex(Collection<String> keys) {
+        this.keys = keys.toArray(new String[0]);
+        Arrays.sort(this.keys);
+        keyList = Collections.unmodifiableList(Arrays.asList(this.keys));
+    }
+
+    /**
+     * Returns all names started with the prefix in natural order.
+     *
+     * @param prefix prefix of names
+     * @return unmodifiable view of the matched names
+     */
+    public List<String> withPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return keyList;
+        }
+
+        int from = Arrays.binarySearch(keys, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        // Names with the same prefix are a continuous range in sorted array: find its end
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return keyList.subList(from, low);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
@@ -8,10 +8,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Properties;
 
 /**
  * 03.11.2016 15:08
@@ -24,23 +21,13 @@ public class LoadUtils {
             return null;
         }
 
-        final Map<String, String> shadow = new LinkedHashMap<>();
-        // Use properties object for loading values only
-        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
-        final Properties properties = new Properties() {
-            @Override
-            public synchronized Object put(Object key, Object value) {
-                return shadow.put(Objects.toString(key, null), Objects.toString(value, null));
-            }
-        };
         try (final InputStream in = inputStreamProvider.get()) {
             if (in == null) {
                 return null;
             }
-            properties.load(new InputStreamReader(new BufferedInputStream(in), StandardCharsets.UTF_8));
+            // Number of available bytes is an upper bound of number of chars in UTF-8 data
+            return wrap(PropertiesParser.parse(new InputStreamReader(in, StandardCharsets.UTF_8), in.available()));
         }
-
-        return wrap(shadow);
     }
 
     public static MapWrapper wrap(Map<String, String> shadow) {
@@ -1,15 +1,20 @@
 package org.xblackcat.sjpu.settings.util;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
 /**
+ * Values getter over a map. The map should not be modified after the first {@linkplain #keysWithPrefix(String)} call: names
+ * are indexed on the first call.
+ * <p>
  * 14.12.2014 21:26
  *
  * @author xBlackCat
  */
 public class MapWrapper implements IValueGetter {
     private final Map<String, String> map;
+    private volatile KeyIndex index;
 
     public MapWrapper(Map<String, String> map) {
         this.map = map;
@@ -23,4 +28,14 @@ public class MapWrapper implements IValueGetter {
     public Set<String> keySet() {
         return map.keySet();
     }
+
+    @Override
+    public Collection<String> keysWithPrefix(String prefix) {
+        KeyIndex index = this.index;
+        if (index == null) {
+            index = new KeyIndex(map.keySet());
+            this.index = index;
+        }
+        return index.withPrefix(prefix);
+    }
 }
@@ -0,0 +1,367 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Values getter over a memory-mapped .properties file in UTF-8. The file is scanned once to build an off-heap hash
+ * index of key and value positions; values are decoded only on request. Syntax is the same as for
+ * {@linkplain PropertiesParser}.
+ * <p>
+ * Lines without escape sequences and continuations are compared and decoded directly from the mapped data, other lines
+ * are decoded with {@linkplain PropertiesParser}. The file should not be modified while the getter is in use.
+ * <p>
+ * 18.10.2026 19:05
+ *
+ * @author xBlackCat
+ */
+public final class MappedValueGetter implements IValueGetter {
+    // Slot fields: hash, line start, value start (-1 if the line should be parsed) and line end (0 for empty slot)
+    private static final int SLOT_SIZE = 4;
+
+    private final MappedByteBuffer data;
+    private final IntBuffer index;
+    private final int mask;
+    private volatile Set<String> keySet;
+
+    /**
+     * Maps the file and builds an index of its values.
+     *
+     * @param file .properties file in UTF-8
+     * @return values getter
+     * @throws IOException if file can't be read, is too large or contains a malformed <code>\\uXXXX</code> sequence
+     */
+    public static MappedValueGetter map(Path file) throws IOException {
+        if (!Files.isReadable(file)) {
+            throw new IOException("Read access denied for file " + file);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too large to be mapped: " + size + " bytes");
+            }
+            return new MappedValueGetter(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Failed to parse file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private MappedValueGetter(MappedByteBuffer data) throws IOException {
+        this.data = data;
+
+        // Number of lines is the upper bound of number of values
+        final int end = data.limit();
+        long lines = 1;
+        for (int i = 0; i < end; i++) {
+            final byte b = data.get(i);
+            if (b == '\n' || b == '\r') {
+                lines++;
+            }
+        }
+        final long capacity = Long.highestOneBit(Math.max(2, lines * 4 / 3) * 2 - 1);
+        if (capacity * SLOT_SIZE * 4 > Integer.MAX_VALUE) {
+            throw new IOException("Too many lines in file: " + lines);
+        }
+        mask = (int) capacity - 1;
+        index = ByteBuffer.allocateDirect((int) capacity * SLOT_SIZE * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+
+        scan(end);
+    }
+
+    @Override
+    public String get(String key) {
+        final int hash = key.hashCode();
+        int slot = hash & mask;
+        while (true) {
+            final int base = slot * SLOT_SIZE;
+            final int lineEnd = index.get(base + 3);
+            if (lineEnd == 0) {
+                return null;
+            }
+            if (index.get(base) == hash && keyEquals(base, key)) {
+                final int valueStart = index.get(base + 2);
+                if (valueStart >= 0) {
+                    return new String(bytes(valueStart, lineEnd), StandardCharsets.UTF_8);
+                }
+                return parseLine(index.get(base + 1), lineEnd)[1];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keySet = this.keySet;
+        if (keySet == null) {
+            final Set<String> keys = new HashSet<>();
+            for (int slot = 0; slot <= mask; slot++) {
+                final int base = slot * SLOT_SIZE;
+                if (index.get(base + 3) != 0) {
+                    keys.add(keyAt(base));
+                }
+            }
+            keySet = Collections.unmodifiableSet(keys);
+            this.keySet = keySet;
+        }
+        return keySet;
+    }
+
+    /**
+     * Scans the index for keys started with the prefix. Keys of simple lines are compared with the mapped data so only
+     * matched keys are decoded.
+     *
+     * @param prefix name prefix
+     * @return matched names in natural order
+     */
+    @Override
+    public Collection<String> keysWithPrefix(String prefix) {
+        final List<String> keys = new ArrayList<>();
+        for (int slot = 0; slot <= mask; slot++) {
+            final int base = slot * SLOT_SIZE;
+            if (index.get(base + 3) == 0) {
+                continue;
+            }
+            final int valueStart = index.get(base + 2);
+            if (valueStart < 0) {
+                final String key = keyAt(base);
+                if (key.startsWith(prefix)) {
+                    keys.add(key);
+                }
+            } else {
+                final int lineStart = index.get(base + 1);
+                if (keyStartsWith(lineStart, valueStart, prefix)) {
+                    keys.add(keyAt(lineStart, valueStart));
+                }
+            }
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Finds logical lines in the same way as {@linkplain PropertiesParser} and adds them to the index.
+     */
+    private void scan(int end) {
+        int pos = 0;
+        lines:
+        while (pos < end) {
+            final byte c = data.get(pos);
+            if (c == ' ' || c == '\t' || c == '\f' || c == '\r' || c == '\n') {
+                pos++;
+                continue;
+            }
+            if (c == '#' || c == '!') {
+                while (pos < end && data.get(pos) != '\n' && data.get(pos) != '\r') {
+                    pos++;
+                }
+                continue;
+            }
+
+            final int start = pos;
+            boolean simple = true;
+            boolean continued = false;
+            boolean precedingBackslash = false;
+            while (pos < end) {
+                final byte ch = data.get(pos);
+                if (ch == '\n' || ch == '\r') {
+                    if (!precedingBackslash) {
+                        break;
+                    }
+                    precedingBackslash = false;
+                    if (!continued && pos - 1 == start) {
+                        if (pos + 1 == end) {
+                            add(start, pos + 1, false);
+                        }
+                        pos = skipContinuation(pos, end);
+                        continue lines;
+                    }
+                    continued = true;
+                    pos = skipContinuation(pos, end);
+                    if (pos < end && (data.get(pos) == '\n' || data.get(pos) == '\r')) {
+                        break;
+                    }
+                    continue;
+                }
+                if (ch == '\\') {
+                    simple = false;
+                    precedingBackslash = !precedingBackslash;
+                } else {
+                    precedingBackslash = false;
+                }
+                pos++;
+            }
+
+            add(start, pos, simple);
+        }
+    }
+
+    private int skipContinuation(int pos, int end) {
+        if (data.get(pos) == '\r' && pos + 1 < end && data.get(pos + 1) == '\n') {
+            pos += 2;
+        } else {
+            pos++;
+        }
+        while (pos < end && isWhiteSpace(data.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private void add(int lineStart, int lineEnd, boolean simple) {
+        int hash = 0;
+        int valueStart = -1;
+        String key = null;
+        if (simple) {
+            // Key chars are compared with bytes so only ASCII keys are taken as is
+            int pos = lineStart;
+            while (pos < lineEnd) {
+                final byte b = data.get(pos);
+                if (b < 0) {
+                    simple = false;
+                    break;
+                }
+                if (isSeparator(b)) {
+                    break;
+                }
+                hash = 31 * hash + b;
+                pos++;
+            }
+            if (simple) {
+                valueStart = skipSeparator(pos, lineEnd);
+            }
+        }
+        if (!simple) {
+            key = parseLine(lineStart, lineEnd)[0];
+            hash = key.hashCode();
+        }
+
+        int slot = hash & mask;
+        while (true) {
+            final int base = slot * SLOT_SIZE;
+            if (index.get(base + 3) == 0) {
+                break;
+            }
+            if (index.get(base) == hash) {
+                if (key == null) {
+                    key = keyAt(lineStart, valueStart);
+                }
+                if (keyEquals(base, key)) {
+                    // The last value wins
+                    break;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        final int base = slot * SLOT_SIZE;
+        index.put(base, hash);
+        index.put(base + 1, lineStart);
+        index.put(base + 2, valueStart);
+        index.put(base + 3, lineEnd);
+    }
+
+    private int skipSeparator(int pos, int end) {
+        boolean hasSeparator = false;
+        while (pos < end) {
+            final byte b = data.get(pos);
+            if (!isWhiteSpace(b)) {
+                if (!hasSeparator && (b == '=' || b == ':')) {
+                    hasSeparator = true;
+                } else {
+                    break;
+                }
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private boolean keyEquals(int base, String key) {
+        final int lineStart = index.get(base + 1);
+        final int valueStart = index.get(base + 2);
+        if (valueStart < 0) {
+            return key.equals(parseLine(lineStart, index.get(base + 3))[0]);
+        }
+
+        final int length = key.length();
+        if (lineStart + length > valueStart) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final byte b = data.get(lineStart + i);
+            if (b != key.charAt(i) || isSeparator(b)) {
+                return false;
+            }
+        }
+        return lineStart + length == valueStart || isSeparator(data.get(lineStart + length));
+    }
+
+    private boolean keyStartsWith(int lineStart, int valueStart, String prefix) {
+        final int length = prefix.length();
+        if (lineStart + length > valueStart) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final byte b = data.get(lineStart + i);
+            if (b != prefix.charAt(i) || isSeparator(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String keyAt(int base) {
+        final int lineStart = index.get(base + 1);
+        final int valueStart = index.get(base + 2);
+        if (valueStart < 0) {
+            return parseLine(lineStart, index.get(base + 3))[0];
+        }
+        return keyAt(lineStart, valueStart);
+    }
+
+    private String keyAt(int lineStart, int valueStart) {
+        int keyEnd = lineStart;
+        while (keyEnd < valueStart && !isSeparator(data.get(keyEnd))) {
+            keyEnd++;
+        }
+        return new String(bytes(lineStart, keyEnd), StandardCharsets.ISO_8859_1);
+    }
+
+    private String[] parseLine(int lineStart, int lineEnd) {
+        final char[] line = new String(bytes(lineStart, lineEnd), StandardCharsets.UTF_8).toCharArray();
+        final String[] result = new String[2];
+        PropertiesParser.parse(
+                line, 0, line.length, (k, v) -> {
+                    result[0] = k;
+                    result[1] = v;
+                }
+        );
+        return result;
+    }
+
+    private byte[] bytes(int from, int to) {
+        final byte[] bytes = new byte[to - from];
+        final ByteBuffer buffer = data.duplicate();
+        buffer.position(from);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == '=' || b == ':' || isWhiteSpace(b);
+    }
+
+    private static boolean isWhiteSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f';
+    }
+}
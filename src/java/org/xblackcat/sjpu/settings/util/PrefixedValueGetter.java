@@ -0,0 +1,75 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.util.*;
+
+/**
+ * View of values with names started with a prefix. Names in the view are relative to the prefix: value
+ * <code>prefix.name</code> is available as <code>name</code>.
+ * <p>
+ * A view of a view refers to the original values with a combined prefix. The set of names is built once on the first
+ * request, so the source values should not be changed after the view is created.
+ * <p>
+ * 18.10.2026 17:10
+ *
+ * @author xBlackCat
+ */
+final class PrefixedValueGetter implements IValueGetter {
+    private final IValueGetter source;
+    private final String prefixDot;
+    private volatile Set<String> keySet;
+
+    static IValueGetter of(IValueGetter valueGetter, String prefix) {
+        if (valueGetter instanceof PrefixedValueGetter) {
+            final PrefixedValueGetter prefixed = (PrefixedValueGetter) valueGetter;
+            return new PrefixedValueGetter(prefixed.source, prefixed.prefixDot + prefix + ".");
+        }
+        return new PrefixedValueGetter(valueGetter, prefix + ".");
+    }
+
+    private PrefixedValueGetter(IValueGetter source, String prefixDot) {
+        this.source = source;
+        this.prefixDot = prefixDot;
+    }
+
+    @Override
+    public String get(String key) {
+        return source.get(prefixDot.concat(key));
+    }
+
+    @Override
+    public boolean isLive() {
+        return source.isLive();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keySet = this.keySet;
+        if (keySet == null) {
+            final Set<String> keys = new LinkedHashSet<>();
+            for (String key: source.keysWithPrefix(prefixDot)) {
+                keys.add(key.substring(prefixDot.length()));
+            }
+            keySet = Collections.unmodifiableSet(keys);
+            this.keySet = keySet;
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<String> keysWithPrefix(String prefix) {
+        final Collection<String> keys = source.keysWithPrefix(prefixDot.concat(prefix));
+        final List<String> result = new ArrayList<>(keys.size());
+        for (String key: keys) {
+            result.add(key.substring(prefixDot.length()));
+        }
+        return result;
+    }
+
+    @Override
+    public IValueGetter withPrefix(String prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return this;
+        }
+        return of(this, prefix);
+    }
+}
@@ -0,0 +1,277 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Single-pass parser of .properties files with the same syntax as {@linkplain java.util.Properties#load(Reader)}: comments,
+ * blank lines, <code>=</code>, <code>:</code> and white space separators, continuation lines and escape sequences
+ * including <code>\\uXXXX</code>.
+ * <p>
+ * Data is read into a single char buffer and parsed in place: keys and values without escapes and continuation lines
+ * are created directly from the buffer.
+ * <p>
+ * 18.10.2026 18:20
+ *
+ * @author xBlackCat
+ */
+public final class PropertiesParser {
+    private static final int MIN_BUFFER_SIZE = 8192;
+
+    private PropertiesParser() {
+    }
+
+    /**
+     * Reads all the data from the reader and parses it. The reader is not closed.
+     *
+     * @param reader   data source
+     * @param sizeHint expected number of chars or 0 if it is unknown
+     * @return immutable map of values in order of appearance
+     * @throws IOException              if data can't be read
+     * @throws IllegalArgumentException if data contains a malformed <code>\\uXXXX</code> sequence
+     */
+    public static Map<String, String> parse(Reader reader, int sizeHint) throws IOException {
+        char[] buf = new char[Math.max(MIN_BUFFER_SIZE, sizeHint + 1)];
+        int length = 0;
+        int read;
+        while ((read = reader.read(buf, length, buf.length - length)) >= 0) {
+            length += read;
+            if (length == buf.length) {
+                if (buf.length == Integer.MAX_VALUE - 8) {
+                    throw new IOException("Data is too large");
+                }
+                buf = Arrays.copyOf(buf, (int) Math.min(Integer.MAX_VALUE - 8, buf.length * 2L));
+            }
+        }
+        return parse(buf, 0, length);
+    }
+
+    /**
+     * Parses data in the buffer.
+     *
+     * @return immutable map of values in order of appearance
+     * @throws IllegalArgumentException if data contains a malformed <code>\\uXXXX</code> sequence
+     */
+    public static Map<String, String> parse(char[] data, int offset, int length) {
+        // Number of lines is the upper bound of number of values
+        int lines = 1;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (data[i] == '\n') {
+                lines++;
+            }
+        }
+        final Map<String, String> values = new LinkedHashMap<>((int) Math.min(1 << 30, lines * 4L / 3 + 1));
+        parse(data, offset, length, values::put);
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Parses data in the buffer and passes all the key-value pairs to the consumer in order of appearance. A repeated key
+     * is passed again.
+     *
+     * @throws IllegalArgumentException if data contains a malformed <code>\\uXXXX</code> sequence
+     */
+    public static void parse(char[] data, int offset, int length, BiConsumer<String, String> consumer) {
+        final int end = offset + length;
+        char[] scratch = null;
+
+        int pos = offset;
+        lines:
+        while (pos < end) {
+            final char c = data[pos];
+            if (c == ' ' || c == '\t' || c == '\f' || c == '\r' || c == '\n') {
+                pos++;
+                continue;
+            }
+            if (c == '#' || c == '!') {
+                // Comment line: continuation is not applied
+                while (pos < end && data[pos] != '\n' && data[pos] != '\r') {
+                    pos++;
+                }
+                continue;
+            }
+
+            // Find the end of the logical line
+            final int start = pos;
+            boolean continued = false;
+            boolean precedingBackslash = false;
+            while (pos < end) {
+                final char ch = data[pos];
+                if (ch == '\n' || ch == '\r') {
+                    if (!precedingBackslash) {
+                        break;
+                    }
+                    precedingBackslash = false;
+                    if (!continued && pos - 1 == start) {
+                        // The line has no content before the continuation: parse the next line as a new one
+                        if (pos + 1 == end) {
+                            // ... unless the data ends right after the line terminator
+                            consumer.accept("", "");
+                        }
+                        pos = skipContinuation(data, pos, end);
+                        continue lines;
+                    }
+                    continued = true;
+                    pos = skipContinuation(data, pos, end);
+                    if (pos < end && (data[pos] == '\n' || data[pos] == '\r')) {
+                        // Empty continuation line ends the logical line
+                        break;
+                    }
+                    continue;
+                }
+                precedingBackslash = ch == '\\' && !precedingBackslash;
+                pos++;
+            }
+
+            if (!continued) {
+                // A backslash at the end of data is ignored
+                splitLine(data, start, precedingBackslash ? pos - 1 : pos, consumer);
+            } else {
+                if (scratch == null || scratch.length < pos - start) {
+                    scratch = new char[Math.max(256, pos - start)];
+                }
+                final int len = joinLine(data, start, pos, scratch);
+                splitLine(scratch, 0, precedingBackslash ? len - 1 : len, consumer);
+            }
+        }
+    }
+
+    /**
+     * Skips line terminator after a backslash and leading white spaces of the next line.
+     *
+     * @return position of the first char of the continuation line content
+     */
+    private static int skipContinuation(char[] data, int pos, int end) {
+        if (data[pos] == '\r' && pos + 1 < end && data[pos + 1] == '\n') {
+            pos += 2;
+        } else {
+            pos++;
+        }
+        while (pos < end && (data[pos] == ' ' || data[pos] == '\t' || data[pos] == '\f')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Copies the logical line into the buffer without backslash-newline sequences and leading white spaces of
+     * continuation lines.
+     *
+     * @return length of the joined line
+     */
+    private static int joinLine(char[] data, int start, int end, char[] out) {
+        int len = 0;
+        boolean precedingBackslash = false;
+        int pos = start;
+        while (pos < end) {
+            final char ch = data[pos];
+            if ((ch == '\n' || ch == '\r') && precedingBackslash) {
+                // Remove the backslash
+                len--;
+                precedingBackslash = false;
+                pos = skipContinuation(data, pos, end);
+                continue;
+            }
+            precedingBackslash = ch == '\\' && !precedingBackslash;
+            out[len++] = ch;
+            pos++;
+        }
+        return len;
+    }
+
+    private static void splitLine(char[] line, int start, int end, BiConsumer<String, String> consumer) {
+        int keyEnd = start;
+        int valueStart = end;
+        boolean hasSeparator = false;
+        boolean precedingBackslash = false;
+        while (keyEnd < end) {
+            final char c = line[keyEnd];
+            if ((c == '=' || c == ':') && !precedingBackslash) {
+                valueStart = keyEnd + 1;
+                hasSeparator = true;
+                break;
+            } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                valueStart = keyEnd + 1;
+                break;
+            }
+            precedingBackslash = c == '\\' && !precedingBackslash;
+            keyEnd++;
+        }
+        while (valueStart < end) {
+            final char c = line[valueStart];
+            if (c != ' ' && c != '\t' && c != '\f') {
+                if (!hasSeparator && (c == '=' || c == ':')) {
+                    hasSeparator = true;
+                } else {
+                    break;
+                }
+            }
+            valueStart++;
+        }
+
+        consumer.accept(unescape(line, start, keyEnd), unescape(line, valueStart, end));
+    }
+
+    private static String unescape(char[] line, int start, int end) {
+        int pos = start;
+        while (pos < end && line[pos] != '\\') {
+            pos++;
+        }
+        if (pos == end) {
+            return new String(line, start, end - start);
+        }
+
+        final StringBuilder out = new StringBuilder(end - start);
+        out.append(line, start, pos - start);
+        while (pos < end) {
+            char c = line[pos++];
+            if (c == '\\') {
+                if (pos == end) {
+                    break;
+                }
+                c = line[pos++];
+                if (c == 'u') {
+                    if (pos + 4 > end) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        final int digit = hexDigit(line[pos++]);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                        }
+                        value = (value << 4) + digit;
+                    }
+                    c = (char) value;
+                } else if (c == 't') {
+                    c = '\t';
+                } else if (c == 'r') {
+                    c = '\r';
+                } else if (c == 'n') {
+                    c = '\n';
+                } else if (c == 'f') {
+                    c = '\f';
+                }
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
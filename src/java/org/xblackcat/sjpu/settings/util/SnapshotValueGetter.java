@@ -0,0 +1,247 @@
+package org.xblackcat.sjpu.settings.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Values getter over a binary snapshot of values. The snapshot is memory-mapped and used as is: keys are looked up by
+ * binary search over the sorted index and only requested values are decoded.
+ * <p>
+ * Snapshot format (all numbers are big-endian 32-bit integers):
+ * <pre>
+ * magic ('SJPS'), format version, CRC32 of the rest of the data,
+ * number of values, size of string table,
+ * index: (key offset, key length, value offset, value length) for each value sorted by UTF-8 bytes of the key,
+ * string table: UTF-8 encoded keys and values
+ * </pre>
+ * <p>
+ * 18.10.2026 19:55
+ *
+ * @author xBlackCat
+ */
+public final class SnapshotValueGetter implements IValueGetter {
+    public static final int MAGIC = 0x534A5053;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+    private static final int CHECKED_OFFSET = 12;
+    private static final int ENTRY_SIZE = 16;
+
+    private final ByteBuffer data;
+    private final int size;
+    private final int stringsOffset;
+    private volatile Set<String> keySet;
+
+    /**
+     * Maps the snapshot file and checks its format version and checksum.
+     *
+     * @param file snapshot file
+     * @return values getter
+     * @throws IOException if file can't be read or it is not a valid snapshot of the supported version
+     */
+    public static SnapshotValueGetter load(Path file) throws IOException {
+        if (!Files.isReadable(file)) {
+            throw new IOException("Read access denied for file " + file);
+        }
+
+        final MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is not a config snapshot");
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+
+        if (data.getInt(0) != MAGIC) {
+            throw new IOException("File " + file + " is not a config snapshot");
+        }
+        final int version = data.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version + " of config snapshot " + file + ": expected " + VERSION);
+        }
+        if (data.getInt(8) != checksum(data)) {
+            throw new IOException("Config snapshot " + file + " is corrupted: checksum mismatch");
+        }
+        final int size = data.getInt(12);
+        final int stringsSize = data.getInt(16);
+        if (size < 0 || stringsSize < 0 || HEADER_SIZE + (long) size * ENTRY_SIZE + stringsSize != data.limit()) {
+            throw new IOException("Config snapshot " + file + " is corrupted: invalid size");
+        }
+
+        return new SnapshotValueGetter(data, size);
+    }
+
+    /**
+     * Writes all the values of the getter into a snapshot file. Existing file is replaced.
+     *
+     * @param values values to store
+     * @param file   target snapshot file
+     * @throws IOException if file can't be written
+     */
+    public static void write(IValueGetter values, Path file) throws IOException {
+        final List<byte[][]> entries = new ArrayList<>();
+        long stringsSize = 0;
+        for (String key : values.keySet()) {
+            final String value = values.get(key);
+            if (value != null) {
+                final byte[][] entry = {key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)};
+                entries.add(entry);
+                stringsSize += entry[0].length + entry[1].length;
+            }
+        }
+        final long length = HEADER_SIZE + (long) entries.size() * ENTRY_SIZE + stringsSize;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Too many values for config snapshot: " + length + " bytes");
+        }
+        entries.sort((a, b) -> compare(a[0], b[0]));
+
+        final ByteBuffer data = ByteBuffer.allocate((int) length);
+        data.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(entries.size()).putInt((int) stringsSize);
+        int offset = 0;
+        for (byte[][] entry : entries) {
+            data.putInt(offset).putInt(entry[0].length);
+            offset += entry[0].length;
+            data.putInt(offset).putInt(entry[1].length);
+            offset += entry[1].length;
+        }
+        for (byte[][] entry : entries) {
+            data.put(entry[0]).put(entry[1]);
+        }
+        data.putInt(8, checksum(data));
+
+        // Replace the snapshot at once for concurrent readers
+        final Path parent = file.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(data.array());
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private SnapshotValueGetter(ByteBuffer data, int size) {
+        this.data = data;
+        this.size = size;
+        stringsOffset = HEADER_SIZE + size * ENTRY_SIZE;
+    }
+
+    @Override
+    public String get(String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = compareKey(mid, bytes, false);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return string(mid, 8);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keySet = this.keySet;
+        if (keySet == null) {
+            final Set<String> keys = new LinkedHashSet<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                keys.add(string(i, 0));
+            }
+            keySet = Collections.unmodifiableSet(keys);
+            this.keySet = keySet;
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<String> keysWithPrefix(String prefix) {
+        final byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        // Keys with the prefix are placed together: find the first one
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (compareKey(mid, bytes, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        final List<String> keys = new ArrayList<>();
+        for (int i = low; i < size && compareKey(i, bytes, true) == 0; i++) {
+            keys.add(string(i, 0));
+        }
+        return keys;
+    }
+
+    /**
+     * Compares key of the entry with the given bytes.
+     *
+     * @param prefix <code>true</code> to compare only the first <code>bytes.length</code> bytes of the key
+     */
+    private int compareKey(int entry, byte[] bytes, boolean prefix) {
+        final int base = HEADER_SIZE + entry * ENTRY_SIZE;
+        final int offset = stringsOffset + data.getInt(base);
+        final int length = data.getInt(base + 4);
+        final int common = Math.min(length, bytes.length);
+        for (int i = 0; i < common; i++) {
+            final int cmp = (data.get(offset + i) & 0xFF) - (bytes[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return prefix && length >= bytes.length ? 0 : length - bytes.length;
+    }
+
+    /**
+     * Decodes key (<code>field</code> 0) or value (<code>field</code> 8) of the entry.
+     */
+    private String string(int entry, int field) {
+        final int base = HEADER_SIZE + entry * ENTRY_SIZE + field;
+        final byte[] bytes = new byte[data.getInt(base + 4)];
+        final ByteBuffer buffer = data.duplicate();
+        buffer.position(stringsOffset + data.getInt(base));
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        final int common = Math.min(a.length, b.length);
+        for (int i = 0; i < common; i++) {
+            final int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static int checksum(ByteBuffer data) {
+        final ByteBuffer checked = data.duplicate();
+        checked.position(CHECKED_OFFSET);
+        checked.limit(data.limit());
+        final CRC32 crc = new CRC32();
+        crc.update(checked);
+        return (int) crc.getValue();
+    }
+}
@@ -2,6 +2,16 @@ package org.xblackcat.sjpu.settings;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.xblackcat.sjpu.settings.ann.ParseWith;
+import org.xblackcat.sjpu.settings.converter.IParser;
+import org.xblackcat.sjpu.settings.converter.IStatefulParser;
+import org.xblackcat.sjpu.settings.converter.ParserRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 07.05.2015 10:27
@@ -55,4 +65,152 @@ public class CustomParserTest {
             Assert.assertNull(oss.getSubSettings());
         }
     }
+
+    @Test
+    public void parserRegistry() throws SettingsException {
+        Assert.assertSame(ParserRegistry.getShared(UpperCaseParser.class), ParserRegistry.getShared(UpperCaseParser.class));
+        Assert.assertNotSame(ParserRegistry.getShared(StatefulParser.class), ParserRegistry.getShared(StatefulParser.class));
+
+        final UpperCaseParser parser = new UpperCaseParser();
+        final ParsedSettings settings = Config.builder()
+                .withParser(parser)
+                .use(() -> new ByteArrayInputStream("value=abc\nother=def".getBytes(StandardCharsets.UTF_8)))
+                .get(ParsedSettings.class);
+
+        Assert.assertEquals("ABC", settings.getValue());
+        Assert.assertEquals("DEF", settings.getOther());
+        Assert.assertEquals(2, parser.calls.get());
+
+        try {
+            Config.builder().withParser(new StatefulParser());
+            Assert.fail("Exception expected");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(true);
+        }
+    }
+
+    @Test
+    public void registeredParserWithoutDefaultConstructor() throws SettingsException {
+        final PrefixedSettings settings = Config.builder()
+                .withParser(new PrefixParser("!"))
+                .use(() -> new ByteArrayInputStream("value=abc\nvalues=a,b".getBytes(StandardCharsets.UTF_8)))
+                .get(PrefixedSettings.class);
+
+        Assert.assertEquals("!abc", settings.getValue());
+        Assert.assertArrayEquals(new String[]{"!a", "!b"}, settings.getValues());
+
+        try {
+            Config.use(() -> new ByteArrayInputStream("value=abc\nvalues=a,b".getBytes(StandardCharsets.UTF_8)))
+                    .get(PrefixedSettings.class);
+            Assert.fail("Exception expected");
+        } catch (SettingsException e) {
+            Assert.assertTrue(true);
+        }
+    }
+
+    @Test
+    public void parserWithWideDeclaredType() throws SettingsException {
+        final byte[] data = "number=1\nnumbers=2,3\ntext=abc".getBytes(StandardCharsets.UTF_8);
+        final NumberSettings settings = Config.use(() -> new ByteArrayInputStream(data)).get(NumberSettings.class);
+
+        Assert.assertEquals(Integer.valueOf(10), settings.getNumber());
+        Assert.assertEquals(Arrays.asList(20, 30), settings.getNumbers());
+
+        try {
+            Config.use(() -> new ByteArrayInputStream(data)).get(InvalidNumberSettings.class);
+            Assert.fail("Exception expected");
+        } catch (SettingsException e) {
+            Assert.assertTrue(true);
+        }
+    }
+
+    public interface NumberSettings {
+        @ParseWith(ScaledParser.class)
+        Integer getNumber();
+
+        @ParseWith(ScaledParser.class)
+        List<Integer> getNumbers();
+    }
+
+    public interface InvalidNumberSettings {
+        @ParseWith(ScaledParser.class)
+        String getText();
+    }
+
+    /**
+     * Parser which real return type is narrower than the declared one.
+     */
+    public static class ScaledParser implements IParser<Number> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<Number> getReturnType() {
+            return (Class<Number>) (Class<?>) Integer.class;
+        }
+
+        @Override
+        public Number apply(String s) {
+            return Integer.valueOf(s) * 10;
+        }
+    }
+
+    public interface PrefixedSettings {
+        @ParseWith(PrefixParser.class)
+        String getValue();
+
+        @ParseWith(PrefixParser.class)
+        String[] getValues();
+    }
+
+    public static class PrefixParser implements IParser<String> {
+        private final String prefix;
+
+        public PrefixParser(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Class<String> getReturnType() {
+            return String.class;
+        }
+
+        @Override
+        public String apply(String s) {
+            return prefix + s;
+        }
+    }
+
+    public interface ParsedSettings {
+        @ParseWith(UpperCaseParser.class)
+        String getValue();
+
+        @ParseWith(UpperCaseParser.class)
+        String getOther();
+    }
+
+    public static class UpperCaseParser implements IParser<String> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Class<String> getReturnType() {
+            return String.class;
+        }
+
+        @Override
+        public String apply(String s) {
+            calls.incrementAndGet();
+            return s.toUpperCase();
+        }
+    }
+
+    public static class StatefulParser implements IStatefulParser<String> {
+        @Override
+        public Class<String> getReturnType() {
+            return String.class;
+        }
+
+        @Override
+        public String apply(String s) {
+            return s;
+        }
+    }
 }
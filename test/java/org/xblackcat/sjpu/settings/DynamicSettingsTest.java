@@ -1,12 +1,16 @@
 package org.xblackcat.sjpu.settings;
 
+import javassist.ClassPool;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.xblackcat.sjpu.settings.config.IConfigListener;
 import org.xblackcat.sjpu.settings.config.IMutableConfig;
+import org.xblackcat.sjpu.settings.config.ISettingsWrapper;
+import org.xblackcat.sjpu.settings.util.ClassUtils;
 
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -19,6 +23,34 @@ import java.util.concurrent.TimeUnit;
  * @author xBlackCat
  */
 public class DynamicSettingsTest {
+    @Test
+    public void settingsWrapper() throws SettingsException {
+        final Constructor<ISettingsWrapper<Settings>> c = ClassUtils.getSettingsWrapperConstructor(Settings.class, new ClassPool(true));
+        final ISettingsWrapper<Settings> wrapper = ClassUtils.initialize(c, (Object) null);
+        final Settings settings = (Settings) wrapper;
+
+        try {
+            settings.getSimpleName();
+            Assert.fail("Exception expected");
+        } catch (NotLoadedException e) {
+            Assert.assertTrue(true);
+        }
+
+        final Settings loaded = Config.use("/source/settings.properties").get(Settings.class);
+        wrapper.setConfig(loaded);
+        Assert.assertSame(loaded, wrapper.getConfig());
+        Assert.assertEquals(1, settings.getSimpleName());
+        Assert.assertEquals(42, settings.getComplexNameWithABBR());
+
+        wrapper.setConfig(null);
+        try {
+            settings.getSimpleName();
+            Assert.fail("Exception expected");
+        } catch (NotLoadedException e) {
+            Assert.assertTrue(true);
+        }
+    }
+
     @Ignore
     @Test
     public void workflow() throws IOException, InterruptedException {
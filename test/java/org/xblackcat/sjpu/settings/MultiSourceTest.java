@@ -0,0 +1,174 @@
+package org.xblackcat.sjpu.settings;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.config.IConfig;
+import org.xblackcat.sjpu.settings.config.MultiSourceConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 18.10.2026 17:45
+ *
+ * @author xBlackCat
+ */
+public class MultiSourceTest {
+    @Test
+    public void mergeModes() throws SettingsException {
+        for (MultiSourceConfig.Mode mode : MultiSourceConfig.Mode.values()) {
+            final IConfig overrides = source("a.value=Override\n");
+            final IConfig defaults = source("a.value=Default\na.value2=Default 2\nb.value=B\nb.value2=B2\n");
+            final MultiSourceConfig config = Config.anyOf(mode, overrides, defaults);
+
+            final Settings2 a = config.get(Settings2.class, "a");
+            Assert.assertEquals("Override", a.getValue());
+            Assert.assertEquals("Default 2", a.getAnotherValue());
+            Assert.assertEquals("B", config.get(Settings2.class, "b").getValue());
+            Assert.assertEquals(4, config.getValueGetter().keySet().size());
+            Assert.assertEquals(2, config.getValueGetter().keysWithPrefix("a.").size());
+
+            if (mode == MultiSourceConfig.Mode.MERGED) {
+                Assert.assertNull(config.getOrigin("a.value"));
+            } else {
+                Assert.assertSame(overrides, config.getOrigin("a.value"));
+                Assert.assertSame(defaults, config.getOrigin("a.value2"));
+                Assert.assertNull(config.getOrigin("c.value"));
+            }
+        }
+    }
+
+    @Test
+    public void concurrentLoading() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final IConfig slow = Config.use(() -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return new ByteArrayInputStream("a.value=Slow\n".getBytes(StandardCharsets.UTF_8));
+            });
+            final IConfig broken = Config.use(() -> {
+                throw new IOException("Broken source");
+            });
+            final IConfig defaults = source("a.value=Default\na.value2=Default 2\n");
+
+            final IConfig config = Config.loadSourcesOn(executor, Duration.ofMillis(200))
+                    .anyOf(MultiSourceConfig.optional(slow), MultiSourceConfig.optional(broken), defaults);
+            final Settings2 s = config.get(Settings2.class, "a");
+            Assert.assertEquals("Default", s.getValue());
+            Assert.assertEquals("Default 2", s.getAnotherValue());
+
+            try {
+                Config.loadSourcesOn(executor, Duration.ofMillis(200)).anyOf(slow, defaults).get(Settings2.class, "a");
+                Assert.fail("Exception expected");
+            } catch (SettingsException e) {
+                // Required source is not loaded in time
+            }
+            try {
+                Config.loadSourcesOn(executor, null).anyOf(broken, defaults).get(Settings2.class, "a");
+                Assert.fail("Exception expected");
+            } catch (SettingsException e) {
+                Assert.assertEquals("Broken source", e.getCause().getMessage());
+            }
+
+            release.countDown();
+            final IConfig noTimeout = Config.loadSourcesOn(executor, null).anyOf(slow, defaults);
+            Assert.assertEquals("Slow", noTimeout.get(Settings2.class, "a").getValue());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void timeoutOfLoading() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Time in the queue of the executor is not counted
+            final IConfig first = delayed(400, "a.value=First\n");
+            final IConfig second = delayed(400, "a.value=Second\na.value2=Second 2\n");
+            final Settings2 s = Config.loadSourcesOn(executor, Duration.ofMillis(600)).anyOf(first, second).get(Settings2.class, "a");
+            Assert.assertEquals("First", s.getValue());
+            Assert.assertEquals("Second 2", s.getAnotherValue());
+
+            // Source which is not loaded in time is interrupted
+            final CountDownLatch interrupted = new CountDownLatch(1);
+            final IConfig slow = Config.use(() -> {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new InterruptedIOException();
+                }
+                return new ByteArrayInputStream("a.value=Slow\n".getBytes(StandardCharsets.UTF_8));
+            });
+            try {
+                Config.loadSourcesOn(executor, Duration.ofMillis(100)).anyOf(slow).get(Settings2.class, "a");
+                Assert.fail("Exception expected");
+            } catch (SettingsException e) {
+                // Required source is not loaded in time
+            }
+            Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void timeoutOfStart() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupy the only thread so sources stay in the queue
+            executor.execute(() -> {
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            final IConfig queued = source("a.value=Queued\nsimple.name=Queued\n");
+            final IConfig config = Config.loadSourcesOn(executor, Duration.ofMillis(200)).anyOf(MultiSourceConfig.optional(queued));
+            Assert.assertNull(config.get(SettingsOptional.class).getSimpleName());
+
+            try {
+                Config.loadSourcesOn(executor, Duration.ofMillis(200)).anyOf(queued).get(Settings2.class, "a");
+                Assert.fail("Exception expected");
+            } catch (SettingsException e) {
+                // Required source is not started in time
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static IConfig delayed(long millis, String properties) {
+        final byte[] data = properties.getBytes(StandardCharsets.UTF_8);
+        return Config.use(() -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return new ByteArrayInputStream(data);
+        });
+    }
+
+    private static IConfig source(String properties) {
+        final byte[] data = properties.getBytes(StandardCharsets.UTF_8);
+        return Config.use(() -> new ByteArrayInputStream(data));
+    }
+}
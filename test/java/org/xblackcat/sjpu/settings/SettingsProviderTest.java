@@ -7,13 +7,20 @@ import org.junit.Test;
 import org.xblackcat.sjpu.settings.ann.Optional;
 import org.xblackcat.sjpu.settings.config.FakeConfig;
 import org.xblackcat.sjpu.settings.config.IConfig;
+import org.xblackcat.sjpu.settings.config.ISettingsBinder;
 import org.xblackcat.sjpu.settings.util.ClassUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 10.01.13 11:37
@@ -62,6 +69,35 @@ public class SettingsProviderTest {
 
     }
 
+    @Test
+    public void generatedBinder() throws SettingsException {
+        final ISettingsBinder<ComplexSettings> binder = ClassUtils.getSettingsBinder(ComplexSettings.class, new ClassPool(true));
+        Assert.assertEquals(ComplexSettings.class.getName() + "$Binder", binder.getClass().getName());
+        Assert.assertSame(binder, ClassUtils.getSettingsBinder(ComplexSettings.class, new ClassPool(true)));
+    }
+
+    @Test
+    public void concurrentGeneration() throws Exception {
+        final ClassPool pool = new ClassPool(true);
+        final List<Class<?>> classes = Arrays.asList(Settings2.class, SettingsPrefix.class, SettingsWithDefault.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            final List<Future<Constructor<?>>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                final Class<?> clazz = classes.get(i % classes.size());
+                results.add(executor.submit(() -> ClassUtils.getSettingsConstructor(clazz, pool)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertSame(
+                        ClassUtils.getSettingsConstructor(classes.get(i % classes.size()), pool),
+                        results.get(i).get()
+                );
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void loadSettings() throws SettingsException, IOException, URISyntaxException {
         {
@@ -354,6 +390,31 @@ public class SettingsProviderTest {
         }
     }
 
+    @Test
+    public void floatingPointValues() throws SettingsException {
+        final byte[] data = "ratio=0.5\nscale=2.25\nweights=1.5,2.5\nlimits=0.25,4".getBytes(StandardCharsets.UTF_8);
+        final FloatingPointSettings settings = Config.use(() -> new ByteArrayInputStream(data)).get(FloatingPointSettings.class);
+
+        Assert.assertEquals(0.5f, settings.getRatio(), 0);
+        Assert.assertEquals(2.25, settings.getScale(), 0);
+        Assert.assertNull(settings.getOffset());
+        Assert.assertArrayEquals(new double[]{1.5, 2.5}, settings.getWeights(), 0);
+        Assert.assertArrayEquals(new Float[]{0.25f, 4f}, settings.getLimits());
+    }
+
+    public interface FloatingPointSettings {
+        float getRatio();
+
+        double getScale();
+
+        @Optional
+        Double getOffset();
+
+        double[] getWeights();
+
+        Float[] getLimits();
+    }
+
     public interface Jvm {
         @Optional
         String getJavaVersion();
@@ -3,7 +3,9 @@ package org.xblackcat.sjpu.settings;
 import org.junit.Assert;
 import org.junit.Test;
 import org.xblackcat.sjpu.settings.config.IConfig;
+import org.xblackcat.sjpu.settings.config.ResolveMode;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collections;
@@ -135,6 +137,70 @@ public class SubstitutionTest {
         }
     }
 
+    @Test
+    public void chainSubstitution() throws SettingsException {
+        Settings2 s = Config.use("source/substitution-chain.properties").get(Settings2.class, "sub");
+
+        Assert.assertEquals("EE/EE-EE/EE", s.getValue());
+        Assert.assertEquals("E", s.getAnotherValue());
+    }
+
+    @Test
+    public void indirectRecursionTest() throws SettingsException {
+        try {
+            IConfig c1 = Config.use("source/substitution-recurrent-chain.properties");
+            Settings2 s1 = c1.get(Settings2.class, "sub");
+            Assert.fail("Exception is expected");
+        } catch (SettingsException e) {
+            Assert.assertEquals("Recurrent reference to a property chain.a", e.getMessage());
+        }
+    }
+
+    @Test
+    public void eagerResolving() throws SettingsException {
+        for (ResolveMode mode : ResolveMode.values()) {
+            IConfig c1 = Config.resolve(mode).use("source/substitution-i-settings-1.properties");
+            IConfig c2 = Config.resolve(mode).substitute(c1).use("source/substitution-i-settings-2.properties");
+            IConfig c3 = Config.resolve(mode).substitute(c1).substitute(c2).use("source/substitution-i-settings-3.properties");
+
+            Settings2 s3 = c3.get(Settings2.class, "sub3");
+            Assert.assertEquals("Sub-1-33-3", s3.getValue());
+            Assert.assertEquals("Sub-1-33-3-Sub-1/Test--22-Sub-1", s3.getAnotherValue());
+
+            Settings2 s = Config.resolve(mode)
+                    .with("BASE64:", v -> new String(Base64.getDecoder().decode(v), StandardCharsets.UTF_8))
+                    .use("source/prefix-settings-2.properties")
+                    .get(Settings2.class);
+            Assert.assertEquals("TEST", s.getValue());
+            Assert.assertEquals("Another test string", s.getAnotherValue());
+
+            try {
+                Config.resolve(mode).use("source/substitution-recurrent-chain.properties").get(Settings2.class, "sub");
+                Assert.fail("Exception is expected");
+            } catch (SettingsException e) {
+                Assert.assertEquals("Recurrent reference to a property chain.a", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void parallelResolving() throws SettingsException {
+        final StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            properties.append("base.").append(i).append("=value-").append(i).append('\n');
+            properties.append("group.").append(i).append(".value=${base.").append(i).append("}/${base.").append((i + 1) % 10000).append("}\n");
+            properties.append("group.").append(i).append(".value2=${group.").append(i).append(".value}\n");
+        }
+        final byte[] data = properties.toString().getBytes(StandardCharsets.UTF_8);
+
+        IConfig config = Config.resolve(ResolveMode.PARALLEL).use(() -> new ByteArrayInputStream(data));
+        for (int i = 0; i < 10000; i += 97) {
+            Settings2 s = config.get(Settings2.class, "group." + i);
+            Assert.assertEquals("value-" + i + "/value-" + (i + 1) % 10000, s.getValue());
+            Assert.assertEquals(s.getValue(), s.getAnotherValue());
+        }
+    }
+
     @Test
     public void prefixProcessingTest() throws SettingsException {
         {
@@ -158,4 +224,48 @@ public class SubstitutionTest {
             Assert.assertEquals("Another test string", s.getAnotherValue());
         }
     }
+
+    @Test
+    public void prefixHandlersTrie() throws SettingsException {
+        final String encoded = Base64.getEncoder().encodeToString("B64:VEVTVA==".getBytes(StandardCharsets.UTF_8));
+        final byte[] data = ("value=B64:" + encoded + "\nvalue2=B64:STR:" + encoded).getBytes(StandardCharsets.UTF_8);
+        {
+            Settings2 s = Config.with("B64:", v -> new String(Base64.getDecoder().decode(v), StandardCharsets.UTF_8))
+                    .with("B64:STR:", v -> "string:" + v)
+                    .use(() -> new ByteArrayInputStream(data))
+                    .get(Settings2.class);
+
+            // Handlers are applied while value has a known prefix
+            Assert.assertEquals("TEST", s.getValue());
+            // The longest prefix is used
+            Assert.assertEquals("string:" + encoded, s.getAnotherValue());
+        }
+        {
+            Settings2 s = Config.with("B64:", v -> new String(Base64.getDecoder().decode(v), StandardCharsets.UTF_8), true)
+                    .with("B64:STR:", v -> "B64:" + v)
+                    .use(() -> new ByteArrayInputStream(data))
+                    .get(Settings2.class);
+
+            // Terminal handler stops processing
+            Assert.assertEquals("B64:VEVTVA==", s.getValue());
+            Assert.assertEquals("B64:VEVTVA==", s.getAnotherValue());
+        }
+    }
+
+    @Test
+    public void prefixHandlersCapturedOnUse() throws SettingsException {
+        final byte[] data = "value=UP:a\nvalue2=LOW:B".getBytes(StandardCharsets.UTF_8);
+        final Config.Builder builder = Config.with("UP:", String::toUpperCase);
+        final IConfig before = builder.use(() -> new ByteArrayInputStream(data));
+        builder.with("LOW:", String::toLowerCase);
+        final IConfig after = builder.use(() -> new ByteArrayInputStream(data));
+
+        final Settings2 s1 = before.get(Settings2.class);
+        Assert.assertEquals("A", s1.getValue());
+        Assert.assertEquals("LOW:B", s1.getAnotherValue());
+
+        final Settings2 s2 = after.get(Settings2.class);
+        Assert.assertEquals("A", s2.getValue());
+        Assert.assertEquals("b", s2.getAnotherValue());
+    }
 }
@@ -0,0 +1,32 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Waiting for results of background reloads in tests.
+ * <p>
+ * 18.10.2026 23:45
+ *
+ * @author xBlackCat
+ */
+final class AwaitUtils {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    private AwaitUtils() {
+    }
+
+    /**
+     * Polls the value until it is equal to the expected one or the timeout of 10 seconds is over.
+     */
+    static <T> void awaitEquals(T expected, Supplier<T> actual) throws InterruptedException {
+        final long start = System.nanoTime();
+        while (!Objects.equals(expected, actual.get()) && System.nanoTime() - start < TIMEOUT) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(expected, actual.get());
+    }
+}
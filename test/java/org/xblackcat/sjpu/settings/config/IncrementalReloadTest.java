@@ -0,0 +1,203 @@
+package org.xblackcat.sjpu.settings.config;
+
+import javassist.ClassPool;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Settings2;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * 18.10.2026 21:40
+ *
+ * @author xBlackCat
+ */
+public class IncrementalReloadTest {
+    @Test
+    public void reloadAffectedOnly() throws Exception {
+        for (ResolveMode mode : ResolveMode.values()) {
+            checkReload(mode);
+        }
+    }
+
+    private static void checkReload(ResolveMode mode) throws Exception {
+        final Path dir = Files.createTempDirectory("reload-");
+        final Path file = dir.resolve("settings.properties");
+        try {
+            // Values are counted by the prefix handler on each bind
+            final AtomicInteger processed = new AtomicInteger();
+            final Map<String, UnaryOperator<String>> handlers = Collections.singletonMap(
+                    "count:", v -> {
+                        processed.incrementAndGet();
+                        return v;
+                    }
+            );
+            write(file, "a.value=count:A", "a.value2=count:${shared}", "b.value=count:B", "b.value2=count:B2", "shared=S");
+
+            final MutableConfig config = new MutableConfig(
+                    new ConfigOptions(new ClassPool(true), handlers, Collections.emptyList()).withResolveMode(mode),
+                    file,
+                    Runnable::run,
+                    null
+            );
+            final List<String> events = new ArrayList<>();
+            config.addListener(new IConfigListener() {
+                @Override
+                public void onConfigChanged(Class<?> clazz, String prefix, Object newConfig) {
+                    Assert.fail("Extended method should be called");
+                }
+
+                @Override
+                public void onConfigChanged(Class<?> clazz, String prefix, Object newConfig, Set<String> changedKeys) {
+                    events.add(prefix + " " + new TreeSet<>(changedKeys));
+                }
+            });
+
+            final Settings2 a = config.get(Settings2.class, "a");
+            final Settings2 b = config.get(Settings2.class, "b");
+            Assert.assertEquals("S", a.getAnotherValue());
+
+            // Indirectly referred value is changed: only "a" is bound again
+            processed.set(0);
+            write(file, "a.value=count:A", "a.value2=count:${shared}", "b.value=count:B", "b.value2=count:B2", "shared=S2");
+            config.checkPaths(Collections.singleton(file.getFileName()));
+            Assert.assertEquals("S2", a.getAnotherValue());
+            Assert.assertEquals(mode.name(), Collections.singletonList("a [a.value2, shared]"), events);
+            if (mode == ResolveMode.LAZY) {
+                Assert.assertEquals(2, processed.get());
+            }
+
+            // Nothing is changed: no binding at all
+            events.clear();
+            processed.set(0);
+            config.checkPaths(Collections.singleton(file.getFileName()));
+            Assert.assertEquals(Collections.emptyList(), events);
+            if (mode == ResolveMode.LAZY) {
+                Assert.assertEquals(0, processed.get());
+            }
+
+            // Value of "b" is changed and unused value is added
+            write(file, "a.value=count:A", "a.value2=count:${shared}", "b.value=count:B!", "b.value2=count:B2", "shared=S2", "c=C");
+            config.checkPaths(Collections.singleton(file.getFileName()));
+            Assert.assertEquals("B!", b.getValue());
+            Assert.assertEquals(Collections.singletonList("b [b.value, c]"), events);
+            if (mode == ResolveMode.LAZY) {
+                Assert.assertEquals(2, processed.get());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void skipUnchangedContent() throws Exception {
+        final Path dir = Files.createTempDirectory("reload-");
+        final Path file = dir.resolve("settings.properties");
+        try {
+            write(file, "a.value=A", "a.value2=B");
+            // Modification time is trusted for files which are not modified right before loading
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+
+            final MutableConfig config = new MutableConfig(
+                    new ClassPool(true),
+                    Collections.emptyMap(),
+                    Collections.emptyList(),
+                    file,
+                    Runnable::run
+            );
+            final List<String> events = new ArrayList<>();
+            config.addListener((clazz, prefix, newConfig) -> events.add(prefix));
+            final Settings2 a = config.get(Settings2.class, "a");
+
+            // Attributes are not changed
+            config.reload();
+            Assert.assertEquals(1, config.getSkippedReloadCount());
+
+            // Touched
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            config.reload();
+            Assert.assertEquals(2, config.getSkippedReloadCount());
+
+            // Rewritten with the same content
+            write(file, "a.value=A", "a.value2=B");
+            config.reload();
+            Assert.assertEquals(3, config.getSkippedReloadCount());
+            Assert.assertEquals(0, config.getReloadCount());
+            Assert.assertEquals(Collections.emptyList(), events);
+
+            // Changed content of the same size
+            write(file, "a.value=C", "a.value2=B");
+            config.reload();
+            Assert.assertEquals(3, config.getSkippedReloadCount());
+            Assert.assertEquals(1, config.getReloadCount());
+            Assert.assertEquals("C", a.getValue());
+            Assert.assertEquals(Collections.singletonList("a"), events);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void parallelRebind() throws Exception {
+        final Path dir = Files.createTempDirectory("reload-");
+        final Path file = dir.resolve("settings.properties");
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final int count = 20;
+            final List<String> lines = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                lines.add("p" + i + ".value=${shared}" + i);
+                lines.add("p" + i + ".value2=B" + i);
+            }
+            lines.add("shared=S");
+            write(file, lines.toArray(new String[0]));
+
+            final MutableConfig config = new MutableConfig(
+                    new ConfigOptions(new ClassPool(true), Collections.emptyMap(), Collections.emptyList()),
+                    file,
+                    Runnable::run,
+                    executor
+            );
+            final List<Settings2> settings = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                settings.add(config.get(Settings2.class, "p" + i));
+            }
+            final Set<String> events = Collections.synchronizedSet(new HashSet<>());
+            config.addListener((clazz, prefix, newConfig) -> events.add(prefix));
+
+            lines.set(lines.size() - 1, "shared=T");
+            write(file, lines.toArray(new String[0]));
+            config.reload();
+            Assert.assertEquals(count, events.size());
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals("T" + i, settings.get(i).getValue());
+            }
+
+            // Key usages are kept for parallel binds too
+            events.clear();
+            lines.set(1, "p0.value2=C");
+            write(file, lines.toArray(new String[0]));
+            config.reload();
+            Assert.assertEquals(Collections.singleton("p0"), events);
+        } finally {
+            executor.shutdownNow();
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static void write(Path file, String... lines) throws Exception {
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
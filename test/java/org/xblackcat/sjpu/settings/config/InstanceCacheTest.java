@@ -0,0 +1,102 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 18.10.2026 21:05
+ *
+ * @author xBlackCat
+ */
+public class InstanceCacheTest {
+    private static final byte[] DATA = "a.value=A\na.value2=A2\nb.value=B\nb.value2=B2\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void cachedInstances() throws Exception {
+        final IConfig config = Config.use(() -> new ByteArrayInputStream(DATA));
+
+        final Settings2 a = config.get(Settings2.class, "a");
+        Assert.assertSame(a, config.get(Settings2.class, "a"));
+        Assert.assertSame(a, config.get(Settings2.class, "a", true));
+        final Settings2 b = config.get(Settings2.class, "b");
+        Assert.assertNotSame(a, b);
+        Assert.assertEquals("B", b.getValue());
+
+        // Instances are cached per config
+        Assert.assertNotSame(a, Config.use(() -> new ByteArrayInputStream(DATA)).get(Settings2.class, "a"));
+    }
+
+    @Test
+    public void liveValues() throws Exception {
+        final String name = "sjpu.instance.cache.live";
+        System.setProperty(name, "1");
+        try {
+            final byte[] data = ("a.value=${" + name + "}\na.value2=A2\nb.value=B\nb.value2=${b.value}2\n").getBytes(StandardCharsets.UTF_8);
+
+            // Substituted JVM system properties are taken on each request
+            final IConfig substituted = Config.builder().substituteJvm().use(() -> new ByteArrayInputStream(data));
+            final IConfig defaults = Config.use(() -> new ByteArrayInputStream(data));
+            Assert.assertEquals("1", substituted.get(Settings2.class, "a").getValue());
+            Assert.assertEquals("1", defaults.get(Settings2.class, "a").getValue());
+            System.setProperty(name, "2");
+            Assert.assertEquals("2", substituted.get(Settings2.class, "a").getValue());
+            Assert.assertEquals("2", defaults.get(Settings2.class, "a").getValue());
+
+            // Objects without live variables are cached
+            final Settings2 b = defaults.get(Settings2.class, "b");
+            Assert.assertEquals("B2", b.getAnotherValue());
+            Assert.assertSame(b, defaults.get(Settings2.class, "b"));
+
+            // Variables substituted in advance are not changed
+            final IConfig eager = Config.resolve(ResolveMode.EAGER).substituteJvm().use(() -> new ByteArrayInputStream(data));
+            final Settings2 a = eager.get(Settings2.class, "a");
+            Assert.assertEquals("2", a.getValue());
+            System.setProperty(name, "3");
+            Assert.assertSame(a, eager.get(Settings2.class, "a"));
+
+            // Combined with JVM system properties
+            final IConfig combined = Config.builder().anyOf(
+                    Config.builder().useJvm(),
+                    Config.builder().use(() -> new ByteArrayInputStream(DATA))
+            );
+            System.setProperty("a.value", "J");
+            try {
+                Assert.assertEquals("J", combined.get(Settings2.class, "a").getValue());
+                System.setProperty("a.value", "K");
+                Assert.assertEquals("K", combined.get(Settings2.class, "a").getValue());
+            } finally {
+                System.clearProperty("a.value");
+            }
+        } finally {
+            System.clearProperty(name);
+        }
+    }
+
+    @Test
+    public void freshInstances() throws Exception {
+        final IConfig config = Config.cacheInstances(false).use(() -> new ByteArrayInputStream(DATA));
+
+        final Settings2 a = config.get(Settings2.class, "a");
+        final Settings2 a2 = config.get(Settings2.class, "a");
+        Assert.assertNotSame(a, a2);
+        Assert.assertEquals(a, a2);
+
+        final String name = "sjpu.instance.cache.test";
+        System.setProperty(name + ".value", "1");
+        System.setProperty(name + ".value2", "2");
+        try {
+            final IConfig jvm = Config.useJvm();
+            Assert.assertEquals("1", jvm.get(Settings2.class, name).getValue());
+            System.setProperty(name + ".value", "3");
+            Assert.assertEquals("3", jvm.get(Settings2.class, name).getValue());
+        } finally {
+            System.clearProperty(name + ".value");
+            System.clearProperty(name + ".value2");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.xblackcat.sjpu.settings.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+
+/**
+ * Scheduler with manually advanced time. Delayed tasks are performed in the calling thread of
+ * {@linkplain #advance(Duration)} in order of their time.
+ * <p>
+ * 18.10.2026 23:40
+ *
+ * @author xBlackCat
+ */
+final class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+
+    long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Moves the time forward and performs all the tasks scheduled up to the new time.
+     */
+    void advance(Duration duration) {
+        final long target = now + duration.toNanos();
+        Task task;
+        while ((task = tasks.peek()) != null && task.time <= target) {
+            tasks.poll();
+            now = task.time;
+            task.run();
+        }
+        now = target;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        final Task task = new Task(command, now + unit.toNanos(delay), sequence++);
+        tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+
+    @Override
+    public void shutdown() {
+        tasks.clear();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        tasks.clear();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return true;
+    }
+
+    private final class Task extends FutureTask<Void> implements ScheduledFuture<Void> {
+        private final long time;
+        private final long order;
+
+        private Task(Runnable command, long time, long order) {
+            super(command, null);
+            this.time = time;
+            this.order = order;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            final Task t = (Task) o;
+            final int c = Long.compare(time, t.time);
+            return c != 0 ? c : Long.compare(order, t.order);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 18.10.2026 23:05
+ *
+ * @author xBlackCat
+ */
+public class PollingFileTrackerTest {
+    @Test
+    public void detectChanges() throws Exception {
+        final Path dir = Files.createTempDirectory("polling-");
+        final Path file = dir.resolve("settings.properties");
+        try {
+            write(file, "a.value=A");
+            final AtomicInteger changes = new AtomicInteger();
+            new PollingFileTracker(Duration.ofMillis(50), Duration.ofMillis(10)).track(file, changes::incrementAndGet);
+
+            Thread.sleep(300);
+            Assert.assertEquals(0, changes.get());
+
+            write(file, "a.value=AB");
+            AwaitUtils.awaitEquals(1, changes::get);
+
+            Files.delete(file);
+            AwaitUtils.awaitEquals(2, changes::get);
+
+            write(file, "a.value=A");
+            AwaitUtils.awaitEquals(3, changes::get);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void trackConfig() throws Exception {
+        final Path dir = Files.createTempDirectory("polling-");
+        final Path file = dir.resolve("settings.properties");
+        try {
+            write(file, "a.value=A", "a.value2=B");
+            final Settings2 settings = Config.pollChanges(Duration.ofMillis(50)).track(file).get(Settings2.class, "a");
+            Assert.assertEquals("A", settings.getValue());
+
+            write(file, "a.value=Changed", "a.value2=B");
+            AwaitUtils.awaitEquals("Changed", settings::getValue);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static void write(Path file, String... lines) throws Exception {
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+import org.xblackcat.sjpu.settings.SettingsException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 18.10.2026 20:45
+ *
+ * @author xBlackCat
+ */
+public class PreloadTest {
+    @Test
+    public void singleFlightLoading() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final IConfig config = Config.use(() -> {
+            loads.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new ByteArrayInputStream("a.value=A\na.value2=A2\n".getBytes(StandardCharsets.UTF_8));
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final CompletableFuture<IConfig> preload = config.preload(executor);
+            final List<Future<Settings2>> results = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> config.get(Settings2.class, "a")));
+            }
+            Thread.sleep(100);
+            Assert.assertFalse(preload.isDone());
+            release.countDown();
+
+            Assert.assertSame(config, preload.get(10, TimeUnit.SECONDS));
+            for (Future<Settings2> result : results) {
+                Assert.assertEquals("A", result.get(10, TimeUnit.SECONDS).getValue());
+            }
+            Assert.assertEquals(1, loads.get());
+            Assert.assertSame(preload.get(), config.preload(executor).get());
+            Assert.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedLoading() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final IConfig config = Config.use(() -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IOException("Not ready");
+            }
+            return new ByteArrayInputStream("a.value=A\na.value2=A2\n".getBytes(StandardCharsets.UTF_8));
+        });
+
+        try {
+            config.preload().join();
+            Assert.fail("Exception expected");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof SettingsException);
+            Assert.assertEquals("Not ready", e.getCause().getCause().getMessage());
+        }
+
+        // Failed loading is repeated
+        Assert.assertEquals("A2", config.get(Settings2.class, "a").getAnotherValue());
+        Assert.assertEquals(2, loads.get());
+    }
+}
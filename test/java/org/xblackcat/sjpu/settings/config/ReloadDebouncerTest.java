@@ -0,0 +1,73 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 18.10.2026 22:05
+ *
+ * @author xBlackCat
+ */
+public class ReloadDebouncerTest {
+    private final ManualScheduler scheduler = new ManualScheduler();
+
+    @Test
+    public void immediateReload() {
+        final AtomicInteger reloads = new AtomicInteger();
+        final ReloadDebouncer debouncer = debouncer(reloads, Duration.ZERO, null);
+        debouncer.trigger();
+        debouncer.trigger();
+        Assert.assertEquals(2, reloads.get());
+    }
+
+    @Test
+    public void collapseBurst() {
+        final AtomicInteger reloads = new AtomicInteger();
+        final ReloadDebouncer debouncer = debouncer(reloads, Duration.ofMillis(200), null);
+        for (int i = 0; i < 10; i++) {
+            debouncer.trigger();
+        }
+        scheduler.advance(Duration.ofMillis(199));
+        Assert.assertEquals(0, reloads.get());
+        scheduler.advance(Duration.ofMillis(1));
+        Assert.assertEquals(1, reloads.get());
+
+        // Next burst: each event restarts the quiet period
+        debouncer.trigger();
+        scheduler.advance(Duration.ofMillis(150));
+        debouncer.trigger();
+        scheduler.advance(Duration.ofMillis(199));
+        Assert.assertEquals(1, reloads.get());
+        scheduler.advance(Duration.ofMillis(1));
+        Assert.assertEquals(2, reloads.get());
+
+        scheduler.advance(Duration.ofSeconds(1));
+        Assert.assertEquals(2, reloads.get());
+    }
+
+    @Test
+    public void maxDelay() {
+        final AtomicInteger reloads = new AtomicInteger();
+        final ReloadDebouncer debouncer = debouncer(reloads, Duration.ofMillis(300), Duration.ofMillis(400));
+        // Events are more frequent than the quiet period: reloads are performed due to max delay only
+        for (int i = 0; i < 100; i++) {
+            debouncer.trigger();
+            scheduler.advance(Duration.ofMillis(20));
+            Assert.assertEquals("Reloads at " + (i + 1) * 20 + " ms", (i + 1) / 20, reloads.get());
+        }
+
+        // The burst started by the last reload ends with the quiet period after the last event
+        debouncer.trigger();
+        scheduler.advance(Duration.ofMillis(299));
+        Assert.assertEquals(5, reloads.get());
+        scheduler.advance(Duration.ofMillis(1));
+        Assert.assertEquals(6, reloads.get());
+    }
+
+    private ReloadDebouncer debouncer(AtomicInteger reloads, Duration quietPeriod, Duration maxDelay) {
+        return new ReloadDebouncer(reloads::incrementAndGet, quietPeriod, maxDelay, scheduler, scheduler::nanoTime);
+    }
+}
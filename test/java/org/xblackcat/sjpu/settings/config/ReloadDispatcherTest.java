@@ -0,0 +1,85 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 19.10.2026 00:10
+ *
+ * @author xBlackCat
+ */
+public class ReloadDispatcherTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void serializedAndCoalesced() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger reloads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ReloadDispatcher dispatcher = new ReloadDispatcher(
+                () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    reloads.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }, executor
+        );
+
+        dispatcher.request();
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        // Requests during a reload result in a single reload after it
+        for (int i = 0; i < 10; i++) {
+            dispatcher.request();
+        }
+        release.countDown();
+
+        AwaitUtils.awaitEquals(2, reloads::get);
+        Thread.sleep(200);
+        Assert.assertEquals(2, reloads.get());
+        Assert.assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void parallelSources() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ReloadDispatcher slow = new ReloadDispatcher(
+                () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, executor
+        );
+        final AtomicInteger reloads = new AtomicInteger();
+        final ReloadDispatcher fast = new ReloadDispatcher(reloads::incrementAndGet, executor);
+
+        try {
+            slow.request();
+            // A slow reload doesn't delay reloads of other sources
+            fast.request();
+            AwaitUtils.awaitEquals(1, reloads::get);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+import org.xblackcat.sjpu.settings.SettingsException;
+import org.xblackcat.sjpu.settings.util.IValueGetter;
+import org.xblackcat.sjpu.settings.util.MapWrapper;
+import org.xblackcat.sjpu.settings.util.SnapshotValueGetter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 18.10.2026 20:25
+ *
+ * @author xBlackCat
+ */
+public class SnapshotCompilerTest {
+    @Test
+    public void compileAndLoad() throws Exception {
+        final Path file = Files.createTempFile("config-", ".snapshot");
+        try {
+            SnapshotCompiler.compile(
+                    Config.builder().substitute(Collections.singletonMap("user.name", "Hello"))
+                            .substituteJvm()
+                            .use("source/substitution-settings.properties"),
+                    file
+            );
+
+            final Settings2 s = Config.useSnapshot(file).get(Settings2.class, "sub");
+            final String userHome = System.getProperty("user.home");
+            Assert.assertEquals(userHome, s.getValue());
+            Assert.assertEquals(userHome + "/Hello", s.getAnotherValue());
+
+            final Map<String, String> map = new HashMap<>();
+            map.put("b", "B");
+            map.put("a.b", "AB");
+            map.put("a.c", "\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435");
+            map.put("a", "");
+            map.put("\u043a\u043b\u044e\u0447", "key");
+            map.put("ab", "AB2");
+            SnapshotValueGetter.write(new MapWrapper(map), file);
+
+            final IValueGetter values = SnapshotValueGetter.load(file);
+            Assert.assertEquals(map.keySet(), values.keySet());
+            for (Map.Entry<String, String> e : map.entrySet()) {
+                Assert.assertEquals(e.getValue(), values.get(e.getKey()));
+            }
+            Assert.assertNull(values.get("a.d"));
+            Assert.assertNull(values.get("c"));
+            Assert.assertEquals(Arrays.asList("a.b", "a.c"), values.keysWithPrefix("a."));
+            Assert.assertEquals(Arrays.asList("a", "a.b", "a.c", "ab"), values.keysWithPrefix("a"));
+            Assert.assertEquals(Collections.emptyList(), values.keysWithPrefix("c"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void invalidSnapshot() throws Exception {
+        final Path file = Files.createTempFile("config-", ".snapshot");
+        try {
+            SnapshotCompiler.compile(Config.use("source/substitution-settings.properties"), file);
+            final byte[] data = Files.readAllBytes(file);
+
+            // Corrupted data
+            final byte[] corrupted = data.clone();
+            corrupted[corrupted.length - 1]++;
+            assertInvalid(file, corrupted, "checksum");
+
+            // Other format version
+            final byte[] version = data.clone();
+            ByteBuffer.wrap(version).putInt(4, SnapshotValueGetter.VERSION + 1);
+            assertInvalid(file, version, "version");
+
+            assertInvalid(file, "sub.value=Text".getBytes(), "not a config snapshot");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void substitutionErrors() throws Exception {
+        final Path file = Files.createTempFile("config-", ".snapshot");
+        try {
+            // Variables of the compiling machine are not substituted implicitly
+            assertNotCompiled(Config.builder().use("source/substitution-settings.properties"), file, "undefined variables [user.home]");
+            assertNotCompiled(Config.builder().use(() -> source("a=${b}\nb=${a}\n")), file, "can't be substituted");
+            Assert.assertEquals(0, Files.size(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertNotCompiled(IConfig config, Path file, String message) throws IOException {
+        try {
+            SnapshotCompiler.compile(config, file);
+            Assert.fail("Exception expected");
+        } catch (SettingsException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+    private static InputStream source(String properties) {
+        return new ByteArrayInputStream(properties.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(Path file, byte[] data, String message) throws IOException {
+        Files.write(file, data);
+        try {
+            Config.useSnapshot(file).get(Settings2.class, "sub");
+            Assert.fail("Exception expected");
+        } catch (SettingsException e) {
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains(message));
+        }
+    }
+}
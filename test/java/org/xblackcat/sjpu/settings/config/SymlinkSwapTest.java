@@ -0,0 +1,83 @@
+package org.xblackcat.sjpu.settings.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tracking of a file in a directory updated the Kubernetes ConfigMap way: the file is a link through the
+ * <code>..data</code> link to a timestamped directory and the <code>..data</code> link is atomically replaced.
+ * <p>
+ * 18.10.2026 23:45
+ *
+ * @author xBlackCat
+ */
+public class SymlinkSwapTest {
+    @Test
+    public void nativeTracking() throws Exception {
+        checkSwaps(Config.builder());
+    }
+
+    @Test
+    public void pollingTracking() throws Exception {
+        checkSwaps(Config.pollChanges(Duration.ofMillis(50)));
+    }
+
+    private static void checkSwaps(Config.Builder builder) throws Exception {
+        final Path dir = Files.createTempDirectory("configmap-");
+        try {
+            publish(dir, 1, "a.value=A1\na.value2=B");
+            final Path file = Files.createSymbolicLink(
+                    dir.resolve("settings.properties"),
+                    Paths.get("..data", "settings.properties")
+            );
+
+            final MutableConfig config = (MutableConfig) builder.track(file);
+            final Settings2 settings = config.get(Settings2.class, "a");
+            Assert.assertEquals("A1", settings.getValue());
+
+            for (int version = 2; version <= 4; version++) {
+                publish(dir, version, "a.value=A" + version + "\na.value2=B");
+                AwaitUtils.awaitEquals("A" + version, settings::getValue);
+
+                // Exactly one reload per swap
+                Thread.sleep(500);
+                Assert.assertEquals(version - 1, config.getReloadCount());
+                Assert.assertEquals(0, config.getSkippedReloadCount());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Publishes a new version of data the way kubelet does: writes data into a new directory, atomically replaces the
+     * <code>..data</code> link and removes the old directory.
+     */
+    private static void publish(Path dir, int version, String content) throws Exception {
+        final Path data = Files.createDirectory(dir.resolve("..2026_10_18_23_45_0" + version));
+        Files.write(data.resolve("settings.properties"), content.getBytes(StandardCharsets.UTF_8));
+
+        final Path link = dir.resolve("..data");
+        final Path oldData = Files.exists(link) ? link.toRealPath() : null;
+        final Path tempLink = Files.createSymbolicLink(dir.resolve("..data_tmp"), data.getFileName());
+        Files.move(tempLink, link, StandardCopyOption.ATOMIC_MOVE);
+
+        if (oldData != null) {
+            Files.delete(oldData.resolve("settings.properties"));
+            Files.delete(oldData);
+        }
+    }
+}
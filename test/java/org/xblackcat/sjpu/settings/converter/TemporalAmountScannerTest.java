@@ -0,0 +1,131 @@
+package org.xblackcat.sjpu.settings.converter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Checks that parsers return the same values and throw the same exceptions as the former implementations based on
+ * catching {@linkplain DateTimeParseException}.
+ * <p>
+ * 18.10.2026 13:40
+ *
+ * @author xBlackCat
+ */
+public class TemporalAmountScannerTest {
+    private static final List<String> SAMPLES = Arrays.asList(
+            "30", "-30", "+30", "1.5", "1,5", "-0.5", "0.000000001", "1.0000000001", "10.", "PT10.S",
+            "PT10S", "pt10s", "T10M", "10M", "10H", "10H5M3S", "10M5H", "P1D", "1D", "1DT2H", "P1DT", "PT", "P", "",
+            "-P1D", "P-1D", "-PT-1.5S", "PT1H1H", "P1Y2M3W4D", "1Y", "1W", "2W3D", "P1Y2MT1H", "P10Y2MT1H", "10DT1H",
+            "D", "T", "S", "1S", "1s", "x", " 1", "1 ", "P1Y1Y", "P2147483648D", "P2147483647W", "P-2147483648Y",
+            "PT9223372036854775807S", "PT9223372036854775808S", "P106751991167301D", "PT2562047788015216H",
+            "-PT-9223372036854775808S", "9223372036854775807", "1.1234567890", "PT1.123456789S", "++1", "+-1"
+    );
+
+    @Test
+    public void sameResults() {
+        final List<String> inputs = new ArrayList<>(SAMPLES);
+        final Random random = new Random(42);
+        final String alphabet = "0123456789PTYMWDHSpthms.,+-";
+        for (int i = 0; i < 20000; i++) {
+            final int length = 1 + random.nextInt(9);
+            final StringBuilder b = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                b.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            inputs.add(b.toString());
+        }
+
+        for (String input : inputs) {
+            check(input, new DurationParser(), TemporalAmountScannerTest::legacyDuration);
+            check(input, new PeriodParser(), TemporalAmountScannerTest::legacyPeriod);
+            check(input, new TemporalAmountParser(), TemporalAmountScannerTest::legacyTemporalAmount);
+        }
+    }
+
+    private static <T> void check(String input, IParser<T> parser, Function<String, T> legacy) {
+        Object expected;
+        try {
+            expected = legacy.apply(input);
+        } catch (RuntimeException e) {
+            expected = e.getClass();
+        }
+        Object actual;
+        try {
+            actual = parser.apply(input);
+        } catch (RuntimeException e) {
+            actual = e.getClass();
+        }
+        Assert.assertEquals(parser.getClass().getSimpleName() + " result for '" + input + "'", expected, actual);
+    }
+
+    private static Duration legacyDuration(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Duration.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        for (String candidate : new String[]{"P" + s, "PT" + s, "PT" + s + "S"}) {
+            try {
+                return Duration.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+
+    private static Period legacyPeriod(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Period.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        for (String candidate : new String[]{"P" + s, "P" + s + "D"}) {
+            try {
+                return Period.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+
+    private static TemporalAmount legacyTemporalAmount(String s) {
+        DateTimeParseException cachedException;
+        try {
+            return Period.parse(s);
+        } catch (DateTimeParseException e) {
+            cachedException = e;
+        }
+        try {
+            return Duration.parse(s);
+        } catch (DateTimeParseException e) {
+            // Ignore - try other formats
+        }
+        try {
+            return Period.parse("P" + s);
+        } catch (DateTimeParseException e) {
+            // Ignore - try other formats
+        }
+        for (String candidate : new String[]{"P" + s, "PT" + s, "PT" + s + "S"}) {
+            try {
+                return Duration.parse(candidate);
+            } catch (DateTimeParseException e) {
+                // Ignore - try other formats
+            }
+        }
+        throw cachedException;
+    }
+}
@@ -0,0 +1,74 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.stream.Stream;
+
+/**
+ * 18.10.2026 23:40
+ *
+ * @author xBlackCat
+ */
+public class FileLinksTest {
+    @Test
+    public void plainFile() throws Exception {
+        final Path dir = Files.createTempDirectory("links-").toRealPath();
+        try {
+            final Path file = dir.resolve("settings.properties");
+            final FileLinks links = FileLinks.resolve(file);
+            Assert.assertEquals(Collections.singleton(file), links.getEntries());
+            Assert.assertEquals(Collections.singleton(dir), links.getDirectories());
+            Assert.assertEquals(file, links.getRealPath());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void configMapLayout() throws Exception {
+        final Path dir = Files.createTempDirectory("links-").toRealPath();
+        try {
+            final Path data = Files.createDirectory(dir.resolve("..2026_10_18_23_40_00.1"));
+            final Path real = Files.createFile(data.resolve("settings.properties"));
+            Files.createSymbolicLink(dir.resolve("..data"), data.getFileName());
+            final Path file = Files.createSymbolicLink(
+                    dir.resolve("settings.properties"),
+                    Paths.get("..data", "settings.properties")
+            );
+
+            final FileLinks links = FileLinks.resolve(file);
+            Assert.assertEquals(real, links.getRealPath());
+            Assert.assertEquals(new HashSet<>(Arrays.asList(file, dir.resolve("..data"), real)), links.getEntries());
+            Assert.assertEquals(new HashSet<>(Arrays.asList(dir, data)), links.getDirectories());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void brokenLink() throws Exception {
+        final Path dir = Files.createTempDirectory("links-").toRealPath();
+        try {
+            final Path file = Files.createSymbolicLink(dir.resolve("settings.properties"), Paths.get("missing", "settings.properties"));
+
+            final FileLinks links = FileLinks.resolve(file);
+            Assert.assertEquals(dir.resolve("missing").resolve("settings.properties"), links.getRealPath());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    static void delete(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
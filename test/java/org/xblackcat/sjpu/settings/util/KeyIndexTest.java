@@ -0,0 +1,47 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * 18.10.2026 16:55
+ *
+ * @author xBlackCat
+ */
+public class KeyIndexTest {
+    @Test
+    public void keysWithPrefix() {
+        final Map<String, String> map = new HashMap<>();
+        for (String key : Arrays.asList("a", "a.b", "a.b.c", "a.bc", "a.c", "ab", "b", "b.a", "")) {
+            map.put(key, key.toUpperCase());
+        }
+        final MapWrapper values = new MapWrapper(map);
+
+        Assert.assertEquals(Arrays.asList("a.b", "a.b.c", "a.bc"), values.keysWithPrefix("a.b"));
+        Assert.assertEquals(Arrays.asList("a.b.c"), values.keysWithPrefix("a.b."));
+        Assert.assertEquals(Arrays.asList("a", "a.b", "a.b.c", "a.bc", "a.c", "ab"), values.keysWithPrefix("a"));
+        Assert.assertEquals(Collections.emptyList(), values.keysWithPrefix("c"));
+        Assert.assertEquals(Collections.emptyList(), values.keysWithPrefix("a.b.c.d"));
+        Assert.assertEquals(map.size(), values.keysWithPrefix("").size());
+
+        final IValueGetter prefixed = values.withPrefix("a");
+        Assert.assertEquals(Arrays.asList("b", "b.c", "bc"), prefixed.keysWithPrefix("b"));
+        Assert.assertEquals("A.B.C", prefixed.get(prefixed.keysWithPrefix("b.").iterator().next()));
+
+        // Default implementation
+        final IValueGetter plain = new IValueGetter() {
+            @Override
+            public String get(String key) {
+                return map.get(key);
+            }
+
+            @Override
+            public Set<String> keySet() {
+                return map.keySet();
+            }
+        };
+        Assert.assertEquals(new HashSet<>(values.keysWithPrefix("a.b")), new HashSet<>(plain.keysWithPrefix("a.b")));
+    }
+}
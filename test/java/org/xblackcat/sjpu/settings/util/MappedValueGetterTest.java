@@ -0,0 +1,106 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xblackcat.sjpu.settings.Config;
+import org.xblackcat.sjpu.settings.Settings2;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 18.10.2026 19:40
+ *
+ * @author xBlackCat
+ */
+public class MappedValueGetterTest {
+    @Test
+    public void mappedValues() throws Exception {
+        final Path file = Files.createTempFile("mapped-", ".properties");
+        try {
+            final String data = "# Comment\n" +
+                    "a.value = Value A\n" +
+                    "a.value2 : \u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\n" +
+                    "b.value=first\n" +
+                    "b.value=second\n" +
+                    "b.value2 = multi\\\n    line\n" +
+                    "key\\ with\\ spaces = escaped\\tvalue\n" +
+                    "\u043a\u043b\u044e\u0447=\\u0041\n" +
+                    "empty\n" +
+                    "=no key\n";
+            assertSameAsParser(file, data);
+
+            final Settings2 a = Config.useMapped(file).get(Settings2.class, "a");
+            Assert.assertEquals("Value A", a.getValue());
+            Assert.assertEquals("\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435", a.getAnotherValue());
+            final Settings2 b = Config.useMapped(file).get(Settings2.class, "b");
+            Assert.assertEquals("second", b.getValue());
+            Assert.assertEquals("multiline", b.getAnotherValue());
+
+            final IValueGetter values = MappedValueGetter.map(file);
+            Assert.assertNull(values.get("a"));
+            Assert.assertNull(values.get("a.value ="));
+            Assert.assertNull(values.get("key"));
+            Assert.assertEquals(Arrays.asList("a.value", "a.value2"), values.keysWithPrefix("a."));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void randomData() throws Exception {
+        final char[] alphabet = {'a', 'b', ' ', '=', ':', '\\', '\\', '\n', '\r', '\t', '#', '!', 'u', '0', 'F', '\u00e9'};
+        final Random random = new Random(42);
+        final Path file = Files.createTempFile("mapped-", ".properties");
+        try {
+            for (int i = 0; i < 3000; i++) {
+                final char[] data = new char[random.nextInt(40)];
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = alphabet[random.nextInt(alphabet.length)];
+                }
+                assertSameAsParser(file, new String(data));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertSameAsParser(Path file, String data) throws IOException {
+        Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> expected;
+        try {
+            expected = PropertiesParser.parse(new StringReader(data), 0);
+        } catch (IllegalArgumentException e) {
+            expected = null;
+        }
+
+        final MappedValueGetter values;
+        try {
+            values = MappedValueGetter.map(file);
+            Assert.assertNotNull("Exception expected for " + data, expected);
+        } catch (IOException e) {
+            Assert.assertNull("Unexpected exception for " + data, expected);
+            return;
+        }
+
+        Assert.assertEquals(data, expected.keySet(), values.keySet());
+        for (String key : expected.keySet()) {
+            Assert.assertEquals(data, expected.get(key), values.get(key));
+        }
+        for (String prefix : new String[]{"", "a", "b", "a ", "\u00e9"}) {
+            final List<String> keys = new ArrayList<>();
+            for (String key : expected.keySet()) {
+                if (key.startsWith(prefix)) {
+                    keys.add(key);
+                }
+            }
+            Collections.sort(keys);
+            Assert.assertEquals(data, keys, values.keysWithPrefix(prefix));
+        }
+    }
+}
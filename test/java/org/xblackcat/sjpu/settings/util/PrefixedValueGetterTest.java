@@ -0,0 +1,42 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * 18.10.2026 17:20
+ *
+ * @author xBlackCat
+ */
+public class PrefixedValueGetterTest {
+    @Test
+    public void prefixedView() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("a", "A");
+        map.put("a.b", "AB");
+        map.put("a.b.c", "ABC");
+        map.put("a.b.d", "ABD");
+        map.put("ab.c", "ABC2");
+        final IValueGetter values = new MapWrapper(map);
+
+        final IValueGetter a = values.withPrefix("a");
+        Assert.assertEquals("AB", a.get("b"));
+        Assert.assertEquals("ABC", a.get("b.c"));
+        Assert.assertNull(a.get("a"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "b.c", "b.d")), a.keySet());
+        Assert.assertSame(a.keySet(), a.keySet());
+        Assert.assertEquals(Arrays.asList("b.c", "b.d"), a.keysWithPrefix("b."));
+
+        final IValueGetter ab = a.withPrefix("b");
+        Assert.assertTrue(ab instanceof PrefixedValueGetter);
+        Assert.assertEquals("ABC", ab.get("c"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("c", "d")), ab.keySet());
+        Assert.assertEquals(ab.keySet(), values.withPrefix("a.b").keySet());
+
+        Assert.assertSame(a, a.withPrefix(""));
+        Assert.assertSame(values, IValueGetter.withPrefix(values, null));
+        Assert.assertTrue(values.withPrefix("x").keySet().isEmpty());
+    }
+}
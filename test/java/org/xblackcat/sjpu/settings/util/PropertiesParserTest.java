@@ -0,0 +1,107 @@
+package org.xblackcat.sjpu.settings.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * 18.10.2026 18:40
+ *
+ * @author xBlackCat
+ */
+public class PropertiesParserTest {
+    private static final String[] SAMPLES = {
+            "",
+            "a=b",
+            "a = b\nc : d\ne f\n",
+            "  a\t=\t  b  \r\n\r\nc=d\re=f",
+            "# comment\n! comment \\\na=b\n  #not a comment=value\n",
+            "key\\ with\\ spaces = value\\ with\\ escapes\\t\\n\\r\\f\\\\\\x",
+            "a=first\\\n    second\\\r\n\tthird",
+            "a=\\\n\nb=c",
+            "a=b\\\\\nc=d\\\\\\\nmore",
+            "a=trailing\\",
+            "a=\\u0041\\u00e9\\uFFFF",
+            "=empty key\n:another\nkey_only\nkey_sep=\n",
+            "a==b\na:=b\na :b\na  = = b",
+            "dup=1\nother=2\ndup=3",
+            "\\#key=value\n\\!key2=value\n",
+            "multi\\\n  line\\\n  key = value",
+            "a=b\\\n# continued, not a comment\n",
+            "a=\u043f\u0440\u0438\u0432\u0435\u0442 \u4e16\u754c",
+    };
+
+    @Test
+    public void samples() throws IOException {
+        for (String sample : SAMPLES) {
+            assertSameAsProperties(sample);
+        }
+    }
+
+    @Test
+    public void randomData() throws IOException {
+        final char[] alphabet = {'a', 'b', ' ', '=', ':', '\\', '\\', '\n', '\r', '\t', '\f', '#', '!', 'u', '0', 'F', 'x', '\u00e9'};
+        final Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            final char[] data = new char[random.nextInt(40)];
+            for (int j = 0; j < data.length; j++) {
+                data[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            assertSameAsProperties(new String(data));
+        }
+    }
+
+    @Test
+    public void malformedUnicode() throws IOException {
+        for (String sample : Arrays.asList("a=\\u12", "a=\\u12G4", "\\uxyz0=b")) {
+            try {
+                PropertiesParser.parse(new StringReader(sample), 0);
+                Assert.fail("Exception expected for " + sample);
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void largeData() throws IOException {
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            data.append("key.").append(i).append(" = value ").append(i).append('\n');
+        }
+        final Map<String, String> values = PropertiesParser.parse(new StringReader(data.toString()), 0);
+        Assert.assertEquals(10000, values.size());
+        Assert.assertEquals("value 9999", values.get("key.9999"));
+        Assert.assertEquals("key.0", values.keySet().iterator().next());
+    }
+
+    private static void assertSameAsProperties(String data) throws IOException {
+        final Map<String, String> expected = new LinkedHashMap<>();
+        Exception expectedException = null;
+        try {
+            new Properties() {
+                @Override
+                public synchronized Object put(Object key, Object value) {
+                    return expected.put((String) key, (String) value);
+                }
+            }.load(new StringReader(data));
+        } catch (IllegalArgumentException e) {
+            expectedException = e;
+        }
+
+        try {
+            final Map<String, String> actual = PropertiesParser.parse(new StringReader(data), 0);
+            Assert.assertNull("Exception expected for " + escape(data), expectedException);
+            Assert.assertEquals("Parsed data: " + escape(data), new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        } catch (IllegalArgumentException e) {
+            Assert.assertNotNull("Unexpected exception for " + escape(data), expectedException);
+        }
+    }
+
+    private static String escape(String data) {
+        return data.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t").replace("\f", "\\f");
+    }
+}